@@ -0,0 +1,24 @@
+package com.usermanagement.api.config;
+
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate-aware JSON serialization of entities.
+ *
+ * With open-in-view disabled, responses are written after the session is
+ * closed. Associations loaded by the repository's entity graphs are written
+ * in full; lazy associations that were not loaded are written as their ID
+ * instead of triggering a query (or a LazyInitializationException).
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Hibernate6Module hibernate6Module() {
+        return new Hibernate6Module()
+                .configure(Hibernate6Module.Feature.FORCE_LAZY_LOADING, false)
+                .configure(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true);
+    }
+}
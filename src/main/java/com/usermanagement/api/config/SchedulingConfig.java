@@ -0,0 +1,12 @@
+package com.usermanagement.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background tasks such as JWT key ring reloads.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,8 +1,23 @@
 package com.usermanagement.api.config;
 
+import com.usermanagement.api.security.ApiKeyAuthenticationFilter;
+import com.usermanagement.api.security.BCryptCalibration;
+import com.usermanagement.api.security.BulkheadPasswordEncoder;
+import com.usermanagement.api.security.CachingDaoAuthenticationProvider;
 import com.usermanagement.api.security.CustomUserDetailsService;
 import com.usermanagement.api.security.JwtAuthenticationFilter;
+import com.usermanagement.api.security.LoginAttemptTracker;
+import com.usermanagement.api.security.LoginThrottlingFilter;
+import com.usermanagement.api.security.RouteAuthorizationManager;
+import com.usermanagement.api.security.RouteRule;
+import com.usermanagement.api.security.VerifiedCredentialCache;
+import com.usermanagement.api.model.AuthUser.Role;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,7 +25,6 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -22,7 +36,9 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -31,26 +47,91 @@ import java.util.List;
  * 
  * Configures JWT authentication, role-based authorization,
  * CORS settings, and security filters.
+ *
+ * Controller {@code @PreAuthorize} annotations are compiled into the
+ * {@link RouteAuthorizationManager} table instead of being evaluated by
+ * method security, so each request is authorized once.
  */
 @Configuration
 @EnableWebSecurity
-@EnableMethodSecurity(prePostEnabled = true)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    /**
+     * Role rules by URL, first match wins. Annotated controller routes must
+     * agree with the rule covering them or startup fails.
+     */
+    static final List<RouteRule> ROUTE_RULES = List.of(
+            // Administrative endpoints (ADMIN only)
+            RouteRule.of(HttpMethod.GET, "/users/export", Role.ADMIN),
+            RouteRule.of(HttpMethod.POST, "/users/import", Role.ADMIN),
+            RouteRule.of(HttpMethod.POST, "/users/batch", Role.ADMIN),
+            RouteRule.of(HttpMethod.DELETE, "/users/**", Role.ADMIN),
+            RouteRule.of(HttpMethod.DELETE, "/subscription-types/**", Role.ADMIN),
+            RouteRule.of(HttpMethod.POST, "/subscription-types/**", Role.ADMIN, Role.MODERATOR),
+            RouteRule.of(HttpMethod.PUT, "/subscription-types/**", Role.ADMIN, Role.MODERATOR),
+            RouteRule.of(HttpMethod.GET, "/api-keys/**", Role.ADMIN),
+            RouteRule.of(HttpMethod.POST, "/api-keys/**", Role.ADMIN),
+            RouteRule.of(HttpMethod.DELETE, "/api-keys/**", Role.ADMIN),
+
+            // User endpoints (USER, MODERATOR, ADMIN)
+            RouteRule.of(HttpMethod.GET, "/users/**", Role.USER, Role.MODERATOR, Role.ADMIN),
+            RouteRule.of(HttpMethod.POST, "/users/**", Role.MODERATOR, Role.ADMIN),
+            RouteRule.of(HttpMethod.PUT, "/users/**", Role.USER, Role.MODERATOR, Role.ADMIN),
+
+            // Subscription type endpoints (read access for all authenticated users)
+            RouteRule.of(HttpMethod.GET, "/subscription-types/**", Role.USER, Role.MODERATOR, Role.ADMIN)
+    );
+
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ApiKeyAuthenticationFilter apiKeyAuthenticationFilter;
+    private final LoginThrottlingFilter loginThrottlingFilter;
+    private final VerifiedCredentialCache verifiedCredentialCache;
+    private final LoginAttemptTracker loginAttemptTracker;
+
+    @Value("${auth.password-hashing.threads:0}") // 0 = one per available processor
+    private int passwordHashingThreads;
+
+    @Value("${auth.password-hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${auth.password-hashing.max-wait:2s}")
+    private Duration passwordHashingMaxWait;
+
+    @Value("${auth.password-hashing.bcrypt.strength:0}") // 0 = calibrate at startup
+    private int bcryptStrength;
+
+    @Value("${auth.password-hashing.bcrypt.target-latency:250ms}")
+    private Duration bcryptTargetLatency;
 
+    /**
+     * BCrypt runs on a dedicated bounded executor so login and register
+     * bursts cannot starve the request threads of CPU. Hashes of any cost
+     * are accepted; new hashes use the configured or calibrated cost.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int threads = passwordHashingThreads > 0
+                ? passwordHashingThreads
+                : Runtime.getRuntime().availableProcessors();
+        int strength = bcryptStrength > 0
+                ? Math.max(bcryptStrength, BCryptCalibration.MIN_STRENGTH)
+                : BCryptCalibration.strengthFor(bcryptTargetLatency);
+        return new BulkheadPasswordEncoder(
+                new BCryptPasswordEncoder(strength),
+                threads,
+                passwordHashingQueueCapacity,
+                passwordHashingMaxWait,
+                meterRegistry
+        );
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider authProvider = new CachingDaoAuthenticationProvider(
+                userDetailsService, verifiedCredentialCache, loginAttemptTracker);
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -60,12 +141,27 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public RouteAuthorizationManager routeAuthorizationManager(
+            @Qualifier("requestMappingHandlerMapping")
+            ObjectProvider<RequestMappingHandlerMapping> requestMappingHandlerMapping) {
+        return new RouteAuthorizationManager(ROUTE_RULES, requestMappingHandlerMapping);
+    }
+
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           AuthenticationProvider authenticationProvider,
+                                           RouteAuthorizationManager routeAuthorizationManager) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Streaming responses complete in an async dispatch of a request authorized already
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
+                // Batch validation costs one signature check per token, so callers must authenticate
+                .requestMatchers(HttpMethod.POST, "/auth/validate/batch").authenticated()
+
                 // Public endpoints
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/api/info", "/api/health").permitAll()
@@ -73,25 +169,13 @@ public class SecurityConfig {
                 .requestMatchers("/", "/static/**", "/public/**").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
                 
-                // Administrative endpoints (ADMIN only)
-                .requestMatchers(HttpMethod.DELETE, "/users/**").hasRole("ADMIN")
-                .requestMatchers(HttpMethod.DELETE, "/subscription-types/**").hasRole("ADMIN")
-                .requestMatchers(HttpMethod.POST, "/subscription-types/**").hasAnyRole("ADMIN", "MODERATOR")
-                .requestMatchers(HttpMethod.PUT, "/subscription-types/**").hasAnyRole("ADMIN", "MODERATOR")
-                
-                // User endpoints (USER, MODERATOR, ADMIN)
-                .requestMatchers(HttpMethod.GET, "/users/**").hasAnyRole("USER", "MODERATOR", "ADMIN")
-                .requestMatchers(HttpMethod.POST, "/users/**").hasAnyRole("MODERATOR", "ADMIN")
-                .requestMatchers(HttpMethod.PUT, "/users/**").hasAnyRole("USER", "MODERATOR", "ADMIN")
-                
-                // Subscription type endpoints (read access for all authenticated users)
-                .requestMatchers(HttpMethod.GET, "/subscription-types/**").hasAnyRole("USER", "MODERATOR", "ADMIN")
-                
-                // Any other request needs authentication
-                .anyRequest().authenticated()
+                // Everything else: route table, then URL rules, then authenticated
+                .anyRequest().access(routeAuthorizationManager)
             )
-            .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .authenticationProvider(authenticationProvider)
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(apiKeyAuthenticationFilter, JwtAuthenticationFilter.class)
+            .addFilterBefore(loginThrottlingFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,59 @@
+package com.usermanagement.api.controller;
+
+import com.usermanagement.api.dto.request.CreateApiKeyRequest;
+import com.usermanagement.api.dto.response.ApiKeyResponse;
+import com.usermanagement.api.service.ApiKeyService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for API keys of service accounts.
+ *
+ * Clients send the key in the X-API-Key header instead of logging in.
+ */
+@RestController
+@RequestMapping("/api-keys")
+@RequiredArgsConstructor
+@Slf4j
+public class ApiKeyController {
+
+    private final ApiKeyService apiKeyService;
+
+    /**
+     * Get API keys of a user
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ApiKeyResponse>> findByAuthUserId(@RequestParam Long authUserId) {
+        log.info("Request to get API keys of user ID: {}", authUserId);
+        return ResponseEntity.ok(apiKeyService.findByAuthUserId(authUserId));
+    }
+
+    /**
+     * Create new API key; the key is only returned in this response
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiKeyResponse> create(@Valid @RequestBody CreateApiKeyRequest request) {
+        log.info("Request to create API key '{}' for user ID: {}", request.getName(), request.getAuthUserId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(apiKeyService.create(request));
+    }
+
+    /**
+     * Revoke API key
+     */
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> revoke(@PathVariable Long id) {
+        log.info("Request to revoke API key with ID: {}", id);
+        apiKeyService.revoke(id);
+        return ResponseEntity.noContent().build();
+    }
+}
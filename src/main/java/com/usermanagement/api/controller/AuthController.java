@@ -1,8 +1,10 @@
 package com.usermanagement.api.controller;
 
+import com.usermanagement.api.dto.request.BatchValidateRequest;
 import com.usermanagement.api.dto.request.LoginRequest;
 import com.usermanagement.api.dto.request.RegisterRequest;
 import com.usermanagement.api.dto.response.AuthResponse;
+import com.usermanagement.api.dto.response.TokenValidationResponse;
 import com.usermanagement.api.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -89,6 +92,58 @@ public class AuthController {
         }
     }
 
+    /**
+     * Endpoint for validating several tokens in one call; results are in request order.
+     * Requires an authenticated caller (access token or API key).
+     */
+    @PostMapping("/validate/batch")
+    public ResponseEntity<Map<String, Object>> validateTokens(@Valid @RequestBody BatchValidateRequest request) {
+        List<TokenValidationResponse> results = authService.validateTokens(request.getTokens());
+        long valid = results.stream().filter(TokenValidationResponse::isValid).count();
+
+        return ResponseEntity.ok(Map.of(
+                "results", results,
+                "valid", valid,
+                "invalid", results.size() - valid
+        ));
+    }
+
+    /**
+     * Endpoint for logout: revokes the access token and the optional refresh token
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, Object>> logout(@RequestBody Map<String, String> request) {
+        String token = request.get("token");
+
+        if (token == null || token.trim().isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("revoked", false, "message", "Token not provided"));
+        }
+
+        log.info("Logout request received");
+        boolean revoked = authService.logout(token, request.get("refreshToken"));
+
+        if (revoked) {
+            return ResponseEntity.ok(Map.of(
+                    "revoked", true,
+                    "message", "Logged out"
+            ));
+        } else {
+            return ResponseEntity.ok(Map.of(
+                    "revoked", false,
+                    "message", "Invalid, expired or already revoked token"
+            ));
+        }
+    }
+
+    /**
+     * Public JSON Web Key Set for verifying tokens without calling /auth/validate
+     */
+    @GetMapping("/jwks")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok(authService.getJwks());
+    }
+
     /**
      * Public endpoint to check if authentication service is working
      */
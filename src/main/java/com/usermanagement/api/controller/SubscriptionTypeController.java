@@ -1,5 +1,6 @@
 package com.usermanagement.api.controller;
 
+import com.usermanagement.api.dto.response.CursorPage;
 import com.usermanagement.api.model.SubscriptionType;
 import com.usermanagement.api.service.SubscriptionTypeService;
 import lombok.RequiredArgsConstructor;
@@ -8,7 +9,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -26,13 +26,17 @@ public class SubscriptionTypeController {
     private final SubscriptionTypeService subscriptionTypeService;
 
     /**
-     * Get all subscription types
+     * Get subscription types one page at a time, following nextCursor
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'MODERATOR', 'ADMIN')")
-    public ResponseEntity<List<SubscriptionType>> findAll() {
-        log.info("Request to get all subscription types");
-        List<SubscriptionType> subscriptionTypes = subscriptionTypeService.findAll();
+    public ResponseEntity<CursorPage<SubscriptionType>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean includeCount) {
+        log.info("Request to get subscription types page, sort: {}", sort);
+        CursorPage<SubscriptionType> subscriptionTypes = subscriptionTypeService.findPage(cursor, size, sort, includeCount);
         return ResponseEntity.ok(subscriptionTypes);
     }
 
@@ -1,14 +1,27 @@
 package com.usermanagement.api.controller;
 
+import com.usermanagement.api.dto.request.UserBatchRequest;
+import com.usermanagement.api.dto.response.CursorPage;
+import com.usermanagement.api.dto.response.ImportResult;
+import com.usermanagement.api.dto.response.UserBatchResult;
 import com.usermanagement.api.model.User;
+import com.usermanagement.api.service.UserBatchService;
+import com.usermanagement.api.service.UserExportService;
+import com.usermanagement.api.service.UserImportService;
 import com.usermanagement.api.service.UserService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Optional;
 
 /**
@@ -24,18 +37,72 @@ import java.util.Optional;
 public class UserController {
 
     private final UserService userService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
+    private final UserBatchService userBatchService;
 
     /**
-     * Get all users
+     * Get users one page at a time, following nextCursor
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'MODERATOR', 'ADMIN')")
-    public ResponseEntity<List<User>> findAll() {
-        log.info("Request to get all users");
-        List<User> users = userService.findAll();
+    public ResponseEntity<CursorPage<User>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean includeCount) {
+        log.info("Request to get users page, sort: {}", sort);
+        CursorPage<User> users = userService.findPage(cursor, size, sort, includeCount);
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Export all users as NDJSON or CSV, optionally gzip-compressed.
+     * Rows are streamed in ID order; pass afterId to resume an interrupted export.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) Long afterId) {
+        UserExportService.Format exportFormat = UserExportService.Format.from(format);
+        log.info("Request to export users as {} (gzip: {}) after ID: {}", exportFormat, gzip, afterId);
+
+        StreamingResponseBody body = output -> userExportService.export(exportFormat, gzip, afterId, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(exportFormat.fileName(gzip))
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    /**
+     * Import users from a CSV (text/csv) or NDJSON (application/x-ndjson) body.
+     * Valid rows are imported; rejected rows are reported with their errors.
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportResult> importUsers(
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body) throws IOException {
+        UserImportService.Format format = UserImportService.Format.fromContentType(contentType);
+        log.info("Request to import users from {}", format);
+        return ResponseEntity.ok(userImportService.importUsers(format, body));
+    }
+
+    /**
+     * Create, update and delete users in one request, with a result per operation
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserBatchResult> batch(@Valid @RequestBody UserBatchRequest request) {
+        log.info("Request to apply a batch of {} user operations", request.getOperations().size());
+        return ResponseEntity.ok(userBatchService.execute(request));
+    }
+
     /**
      * Get user by ID
      */
@@ -0,0 +1,20 @@
+package com.usermanagement.api.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch token validation request DTO.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchValidateRequest {
+
+    @NotEmpty(message = "Tokens are required")
+    private List<String> tokens;
+}
@@ -0,0 +1,28 @@
+package com.usermanagement.api.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * API key creation request DTO.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateApiKeyRequest {
+
+    @NotNull(message = "Auth user ID is required")
+    private Long authUserId;
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must not exceed 100 characters")
+    private String name;
+
+    @Positive(message = "Expiration must be a positive number of days")
+    private Integer expiresInDays; // null = never expires
+}
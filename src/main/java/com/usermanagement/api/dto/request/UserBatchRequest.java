@@ -0,0 +1,55 @@
+package com.usermanagement.api.dto.request;
+
+import com.usermanagement.api.model.User;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch of user create, update and delete operations.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRequest {
+
+    public enum Mode {
+        /** Apply every operation or none of them */
+        ALL_OR_NOTHING,
+        /** Apply the operations that succeed and report the others */
+        BEST_EFFORT
+    }
+
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    private Mode mode; // null = configured default
+
+    @NotEmpty(message = "Operations are required")
+    private List<@Valid @NotNull(message = "Operation must not be null") Item> operations;
+
+    /**
+     * One operation: CREATE takes a user, UPDATE an id and the fields to
+     * change, DELETE an id.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotNull(message = "Op is required")
+        private Operation op;
+
+        private Long id;
+
+        private User user;
+    }
+}
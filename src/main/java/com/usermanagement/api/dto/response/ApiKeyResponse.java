@@ -0,0 +1,41 @@
+package com.usermanagement.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.usermanagement.api.model.ApiKey;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * API key response DTO; the key itself is only returned on creation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ApiKeyResponse {
+
+    private Long id;
+    private String key;
+    private String keyPrefix;
+    private String name;
+    private Long authUserId;
+    private LocalDateTime expiresAt;
+    private boolean revoked;
+    private LocalDateTime createdAt;
+
+    public static ApiKeyResponse from(ApiKey apiKey, String key) {
+        return new ApiKeyResponse(
+                apiKey.getId(),
+                key,
+                apiKey.getKeyPrefix(),
+                apiKey.getName(),
+                apiKey.getAuthUserId(),
+                apiKey.getExpiresAt(),
+                Boolean.TRUE.equals(apiKey.getRevoked()),
+                apiKey.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,39 @@
+package com.usermanagement.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.usermanagement.api.util.KeysetCursor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * Pass nextCursor back as the cursor parameter to get the following page.
+ * estimatedTotal is only set when requested and comes from table statistics,
+ * so it is approximate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+    private List<T> items;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long estimatedTotal;
+
+    public static <T> CursorPage<T> of(Window<T> window, Sort sort, Long estimatedTotal) {
+        List<T> items = window.getContent();
+        String nextCursor = window.hasNext() && !items.isEmpty()
+                ? KeysetCursor.encode(window.positionAt(items.size() - 1), sort)
+                : null;
+        return new CursorPage<>(items, items.size(), nextCursor != null, nextCursor, estimatedTotal);
+    }
+}
@@ -0,0 +1,37 @@
+package com.usermanagement.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bulk import summary with the errors of rejected rows.
+ *
+ * Rows are numbered from 1, not counting the CSV header. At most the
+ * configured number of errors is listed; failed always counts all of them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+
+    private long processed;
+    private long imported;
+    private long failed;
+    private long durationMs;
+    private long rowsPerSecond;
+    private List<RowError> errors;
+
+    /**
+     * Reasons a single row was rejected.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private List<String> messages;
+    }
+}
@@ -0,0 +1,27 @@
+package com.usermanagement.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Validation result of a single token; claims are only set for valid tokens.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenValidationResponse {
+
+    private boolean valid;
+    private String subject;
+    private String role;
+    private Instant expiresAt;
+
+    public static TokenValidationResponse invalid() {
+        return new TokenValidationResponse(false, null, null, null);
+    }
+}
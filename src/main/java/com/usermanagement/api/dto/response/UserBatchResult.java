@@ -0,0 +1,49 @@
+package com.usermanagement.api.dto.response;
+
+import com.usermanagement.api.dto.request.UserBatchRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a user batch, with one result per operation in request order.
+ *
+ * Operations are numbered from 0, as in the request array.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchResult {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        FAILED,
+        /** Valid, but not applied because the all-or-nothing batch failed */
+        NOT_APPLIED
+    }
+
+    private UserBatchRequest.Mode mode;
+    private int processed;
+    private int succeeded;
+    private int failed;
+    private long durationMs;
+    private List<ItemResult> results;
+
+    /**
+     * Result of a single operation; id is the generated ID for creates.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private UserBatchRequest.Operation op;
+        private Long id;
+        private Status status;
+        private String message;
+    }
+}
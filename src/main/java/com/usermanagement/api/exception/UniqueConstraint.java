@@ -0,0 +1,80 @@
+package com.usermanagement.api.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Unique keys whose violations are reported as {@link DuplicateResourceException}.
+ *
+ * Lets writes insert directly and rely on the database to reject duplicates,
+ * instead of checking with extra queries first (which is also racy).
+ * Constraint names are those created by the Flyway migrations; MySQL reports
+ * them with or without the table name, e.g. "auth_users.email".
+ */
+public enum UniqueConstraint {
+
+    AUTH_USERS_USERNAME("auth_users", "username", "Username"),
+    AUTH_USERS_EMAIL("auth_users", "email", "Email"),
+    USERS_EMAIL("users", "users_email_unique", "Email"),
+    USERS_CPF("users", "users_cpf_unique", "CPF"),
+    USERS_PHONE("users", "users_phone_unique", "Phone");
+
+    private static final Pattern DUPLICATE_ENTRY = Pattern.compile("Duplicate entry '(.*)' for key '([^']+)'");
+
+    private final String table;
+    private final String constraintName;
+    private final String label;
+
+    UniqueConstraint(String table, String constraintName, String label) {
+        this.table = table;
+        this.constraintName = constraintName;
+        this.label = label;
+    }
+
+    /**
+     * Find the unique key violated by a failed write
+     */
+    public static Optional<UniqueConstraint> from(DataIntegrityViolationException ex) {
+        String name = constraintNameOf(ex);
+        if (name == null) {
+            return Optional.empty();
+        }
+        name = name.replace("`", "").toLowerCase(Locale.ROOT);
+        for (UniqueConstraint constraint : values()) {
+            if (name.equals(constraint.constraintName) || name.equals(constraint.table + '.' + constraint.constraintName)) {
+                return Optional.of(constraint);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Duplicated value as reported by the database, if present in the message
+     */
+    public static Optional<String> duplicateValueOf(DataIntegrityViolationException ex) {
+        Matcher matcher = DUPLICATE_ENTRY.matcher(String.valueOf(ex.getMostSpecificCause().getMessage()));
+        return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    /**
+     * Exception with the same message as the former existence checks
+     */
+    public DuplicateResourceException duplicate(String value) {
+        return new DuplicateResourceException(label + " already in use: " + value);
+    }
+
+    private static String constraintNameOf(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName();
+            }
+        }
+        Matcher matcher = DUPLICATE_ENTRY.matcher(String.valueOf(ex.getMostSpecificCause().getMessage()));
+        return matcher.find() ? matcher.group(2) : null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.usermanagement.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * API key of a service account, stored as a SHA-256 hash.
+ *
+ * Requests authenticated with the key act as the owning {@link AuthUser},
+ * with its role.
+ */
+@Entity
+@Table(name = "api_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "api_key_id")
+    private Long id;
+
+    @Column(name = "key_hash", unique = true, nullable = false, length = 64)
+    private String keyHash;
+
+    /**
+     * First characters of the key, to tell keys apart without storing them
+     */
+    @Column(name = "key_prefix", nullable = false, length = 16)
+    private String keyPrefix;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "auth_user_id", nullable = false)
+    private Long authUserId;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private Boolean revoked = false;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ApiKey apiKey = (ApiKey) o;
+        return Objects.equals(keyHash, apiKey.keyHash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(keyHash);
+    }
+}
@@ -1,6 +1,8 @@
 package com.usermanagement.api.model;
 
+import com.usermanagement.api.security.AuthUserCacheListener;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -23,6 +25,7 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "auth_users")
+@EntityListeners(AuthUserCacheListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -65,15 +68,47 @@ public class AuthUser implements UserDetails, Serializable {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Incremented to revoke every token issued to this user
+     */
+    @Column(name = "token_epoch", nullable = false)
+    private Integer tokenEpoch = 0;
+
+    /**
+     * Login tracking, written in batches by LoginAttemptTracker only
+     */
+    @Column(name = "last_login_at", insertable = false, updatable = false)
+    private LocalDateTime lastLoginAt;
+
+    @Column(name = "failed_attempts", insertable = false, updatable = false)
+    private Integer failedAttempts;
+
+    @Column(name = "locked_until", insertable = false, updatable = false)
+    private LocalDateTime lockedUntil;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient LoadedState loadedState;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
     }
 
+    @PostLoad
+    protected void onLoad() {
+        loadedState = new LoadedState(password, enabled, accountNonLocked);
+    }
+
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        if (loadedState != null && loadedState.requiresNewTokens(this)) {
+            tokenEpoch = tokenEpoch == null ? 1 : tokenEpoch + 1;
+        }
+        loadedState = new LoadedState(password, enabled, accountNonLocked);
     }
 
     // UserDetails implementation
@@ -124,7 +159,20 @@ public class AuthUser implements UserDetails, Serializable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(getClass());
+        return Objects.hashCode(username);
+    }
+
+    /**
+     * Credential and status values as loaded, used to detect changes that
+     * must invalidate issued tokens.
+     */
+    private record LoadedState(String password, Boolean enabled, Boolean accountNonLocked) {
+
+        boolean requiresNewTokens(AuthUser user) {
+            return !Objects.equals(password, user.password) ||
+                   (Boolean.TRUE.equals(enabled) && !Boolean.TRUE.equals(user.enabled)) ||
+                   (Boolean.TRUE.equals(accountNonLocked) && !Boolean.TRUE.equals(user.accountNonLocked));
+        }
     }
 
     /**
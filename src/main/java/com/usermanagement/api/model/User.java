@@ -21,6 +21,10 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "users")
+@NamedEntityGraph(name = User.WITH_TYPES, attributeNodes = {
+        @NamedAttributeNode("userType"),
+        @NamedAttributeNode("subscriptionType")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,6 +32,9 @@ import java.util.Objects;
 @ToString(onlyExplicitlyIncluded = true)
 public class User implements Serializable {
 
+    /** Entity graph that fetches the user and subscription types with the user */
+    public static final String WITH_TYPES = "User.withTypes";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "users_id")
@@ -0,0 +1,25 @@
+package com.usermanagement.api.repository;
+
+import com.usermanagement.api.model.ApiKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for ApiKey entity.
+ */
+@Repository
+public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
+
+    /**
+     * Find API key by its SHA-256 hash
+     */
+    Optional<ApiKey> findByKeyHash(String keyHash);
+
+    /**
+     * Find API keys of a user
+     */
+    List<ApiKey> findByAuthUserIdOrderByIdAsc(Long authUserId);
+}
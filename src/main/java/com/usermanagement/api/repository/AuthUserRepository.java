@@ -2,10 +2,13 @@ package com.usermanagement.api.repository;
 
 import com.usermanagement.api.model.AuthUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -54,4 +57,37 @@ public interface AuthUserRepository extends JpaRepository<AuthUser, Long> {
      * Find users by role
      */
     List<AuthUser> findByRole(AuthUser.Role role);
+
+    /**
+     * Replace the password hash only if it is still the expected one.
+     * Bulk update: entity callbacks and listeners do not run.
+     *
+     * @return 1 if the hash was replaced, 0 if it changed in the meantime
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE AuthUser u SET u.password = :newPassword WHERE u.id = :id AND u.password = :currentPassword")
+    int updatePasswordIfUnchanged(@Param("id") Long id,
+                                  @Param("currentPassword") String currentPassword,
+                                  @Param("newPassword") String newPassword);
+
+    /**
+     * Find token epochs of users that have revoked their tokens at least once
+     */
+    List<TokenEpoch> findByTokenEpochGreaterThan(Integer tokenEpoch);
+
+    /**
+     * Find token epochs of users updated since the given time
+     */
+    List<TokenEpoch> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    /**
+     * Projection with the user ID and the current token epoch
+     */
+    interface TokenEpoch {
+
+        Long getId();
+
+        Integer getTokenEpoch();
+    }
 }
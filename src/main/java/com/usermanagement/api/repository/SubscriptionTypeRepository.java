@@ -1,6 +1,10 @@
 package com.usermanagement.api.repository;
 
 import com.usermanagement.api.model.SubscriptionType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -31,4 +35,9 @@ public interface SubscriptionTypeRepository extends JpaRepository<SubscriptionTy
      * Check if subscription type exists by name
      */
     boolean existsByName(String name);
+
+    /**
+     * Scroll through all subscription types by keyset
+     */
+    Window<SubscriptionType> findBy(ScrollPosition position, Sort sort, Limit limit);
 }
@@ -0,0 +1,40 @@
+package com.usermanagement.api.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Approximate table sizes from database statistics.
+ *
+ * Reads the row estimate kept by MySQL instead of running COUNT(*), which
+ * scans the whole table.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class TableStatisticsRepository {
+
+    private static final String ESTIMATED_ROWS_SQL =
+            "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Estimated number of rows of a table, if statistics are available
+     */
+    public Optional<Long> estimatedRowCount(String table) {
+        try {
+            return jdbcTemplate.queryForList(ESTIMATED_ROWS_SQL, Long.class, table).stream()
+                    .filter(rows -> rows != null)
+                    .findFirst();
+        } catch (DataAccessException e) {
+            log.debug("Could not read row estimate of {}: {}", table, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.usermanagement.api.repository;
 
 import com.usermanagement.api.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -11,23 +17,42 @@ import java.util.Optional;
  * 
  * Provides data access methods for system users
  * including queries by email, phone, and CPF.
+ * Reads whose results are returned to clients fetch the user and
+ * subscription types in the same query ({@link User#WITH_TYPES}).
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Find user by ID with its user and subscription types
+     */
+    @Override
+    @EntityGraph(User.WITH_TYPES)
+    Optional<User> findById(Long id);
+
+    /**
+     * Find all users with their user and subscription types
+     */
+    @Override
+    @EntityGraph(User.WITH_TYPES)
+    List<User> findAll();
+
     /**
      * Find user by email
      */
+    @EntityGraph(User.WITH_TYPES)
     Optional<User> findByEmail(String email);
 
     /**
      * Find user by phone
      */
+    @EntityGraph(User.WITH_TYPES)
     Optional<User> findByPhone(String phone);
 
     /**
      * Find user by CPF
      */
+    @EntityGraph(User.WITH_TYPES)
     Optional<User> findByCpf(String cpf);
 
     /**
@@ -44,4 +69,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Check if user exists by CPF
      */
     boolean existsByCpf(String cpf);
+
+    /**
+     * Scroll through all users by keyset
+     */
+    @EntityGraph(User.WITH_TYPES)
+    Window<User> findBy(ScrollPosition position, Sort sort, Limit limit);
 }
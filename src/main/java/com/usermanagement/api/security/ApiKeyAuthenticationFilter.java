@@ -0,0 +1,71 @@
+package com.usermanagement.api.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * API key authentication filter for service accounts.
+ *
+ * Authenticates requests carrying an X-API-Key header that were not already
+ * authenticated by a JWT, acting as the user that owns the key.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private final ApiKeyAuthenticator apiKeyAuthenticator;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        try {
+            String apiKey = request.getHeader(API_KEY_HEADER);
+
+            if (StringUtils.hasText(apiKey) && SecurityContextHolder.getContext().getAuthentication() == null) {
+                apiKeyAuthenticator.authenticate(apiKey).ifPresentOrElse(
+                        principal -> setAuthentication(principal, request),
+                        () -> log.warn("Invalid API key used for URI: {}", request.getRequestURI())
+                );
+            }
+        } catch (Exception e) {
+            log.error("Error processing API key authentication: {}", e.getMessage());
+            // Do not set authentication in case of error
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void setAuthentication(UserPrincipal principal, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken =
+            new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities()
+            );
+
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        log.debug("Service account authenticated by API key: {} for URI: {}", principal.username(), request.getRequestURI());
+    }
+}
@@ -0,0 +1,143 @@
+package com.usermanagement.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.usermanagement.api.model.ApiKey;
+import com.usermanagement.api.repository.ApiKeyRepository;
+import com.usermanagement.api.util.TokenHashing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves API keys to principals with a hash and a map lookup.
+ *
+ * Values that do not have the format of an issued key are rejected before
+ * hashing. Well-formed keys are looked up by SHA-256 digest and cached in
+ * memory; keys that do not exist go to a separate, smaller cache with a
+ * shorter TTL, so a flood of unknown keys neither queries the database
+ * repeatedly nor evicts real keys. The owning user is resolved through the
+ * {@link PrincipalCache}. Revocation evicts the key on this instance; other
+ * instances drop it within the cache TTL.
+ */
+@Component
+@Slf4j
+public class ApiKeyAuthenticator {
+
+    /** Prefix of every issued key */
+    public static final String KEY_PREFIX = "umk_";
+    /** Random bytes of every issued key, encoded as unpadded base64url */
+    public static final int KEY_BYTES = 32;
+
+    private static final Pattern KEY_FORMAT =
+            Pattern.compile(Pattern.quote(KEY_PREFIX) + "[A-Za-z0-9_-]{" + (KEY_BYTES * 4 + 2) / 3 + "}");
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final Cache<String, CachedKey> keysByHash;
+    private final Cache<String, Boolean> unknownHashes;
+
+    public ApiKeyAuthenticator(
+            ApiKeyRepository apiKeyRepository,
+            CustomUserDetailsService userDetailsService,
+            @Value("${auth.api-keys.cache.maximum-size:10000}") long maximumSize,
+            @Value("${auth.api-keys.cache.ttl:60s}") Duration ttl,
+            @Value("${auth.api-keys.cache.unknown-maximum-size:1000}") long unknownMaximumSize,
+            @Value("${auth.api-keys.cache.unknown-ttl:10s}") Duration unknownTtl,
+            MeterRegistry meterRegistry
+    ) {
+        this.apiKeyRepository = apiKeyRepository;
+        this.userDetailsService = userDetailsService;
+        this.keysByHash = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.unknownHashes = Caffeine.newBuilder()
+                .maximumSize(unknownMaximumSize)
+                .expireAfterWrite(unknownTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, keysByHash, "auth.api-keys");
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownHashes, "auth.api-keys.unknown");
+    }
+
+    /**
+     * Check that a value has the format of an issued key
+     */
+    public static boolean isWellFormed(String apiKey) {
+        return apiKey != null && KEY_FORMAT.matcher(apiKey).matches();
+    }
+
+    /**
+     * Resolve an API key to the principal of its owner
+     *
+     * @return empty if the key is malformed, unknown, revoked or expired, or the owner is inactive
+     */
+    public Optional<UserPrincipal> authenticate(String apiKey) {
+        if (!isWellFormed(apiKey)) {
+            return Optional.empty();
+        }
+        String keyHash = TokenHashing.sha256Hex(apiKey);
+        if (unknownHashes.getIfPresent(keyHash) != null) {
+            return Optional.empty();
+        }
+        CachedKey key = keysByHash.get(keyHash, this::load);
+        if (key == null || key.isExpired()) {
+            return Optional.empty();
+        }
+
+        try {
+            UserPrincipal principal = ((AuthUserDetails) userDetailsService.loadUserById(key.authUserId())).principal();
+            return principal.isActive() ? Optional.of(principal) : Optional.empty();
+        } catch (UsernameNotFoundException e) {
+            log.warn("API key {} belongs to missing user ID: {}", key.id(), key.authUserId());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Forget a key after it was created or revoked
+     */
+    public void invalidate(String keyHash) {
+        keysByHash.invalidate(keyHash);
+        unknownHashes.invalidate(keyHash);
+    }
+
+    /**
+     * Load a key; keys that do not exist or are revoked are remembered in the
+     * unknown cache and not cached as keys (null)
+     */
+    private CachedKey load(String keyHash) {
+        CachedKey key = apiKeyRepository.findByKeyHash(keyHash)
+                .filter(apiKey -> !Boolean.TRUE.equals(apiKey.getRevoked()))
+                .map(CachedKey::from)
+                .orElse(null);
+        if (key == null) {
+            unknownHashes.put(keyHash, Boolean.TRUE);
+        }
+        return key;
+    }
+
+    /**
+     * Cached data of an existing, unrevoked key
+     */
+    private record CachedKey(Long id, Long authUserId, LocalDateTime expiresAt) {
+
+        static CachedKey from(ApiKey apiKey) {
+            return new CachedKey(apiKey.getId(), apiKey.getAuthUserId(), apiKey.getExpiresAt());
+        }
+
+        boolean isExpired() {
+            return expiresAt != null && !expiresAt.isAfter(LocalDateTime.now());
+        }
+    }
+}
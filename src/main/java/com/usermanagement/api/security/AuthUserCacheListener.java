@@ -0,0 +1,71 @@
+package com.usermanagement.api.security;
+
+import com.usermanagement.api.model.AuthUser;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that evicts cached principals when an
+ * {@link AuthUser} is created, updated or deleted.
+ *
+ * Evicts right away and again after commit, so a concurrent lookup that
+ * read the row before the commit cannot keep the old state cached. New or
+ * changed usernames and emails are removed from the unknown-login cache.
+ * Token epoch changes are published to the {@link TokenRevocationService}
+ * once committed; removed users have all their tokens revoked.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthUserCacheListener {
+
+    private final PrincipalCache principalCache;
+    // Resolved lazily: the revocation service depends on the repository, which needs this listener
+    private final ObjectProvider<TokenRevocationService> revocationService;
+
+    @PostPersist
+    @PostUpdate
+    public void onChange(AuthUser user) {
+        Long id = user.getId();
+        Integer epoch = user.getTokenEpoch();
+        String username = user.getUsername();
+        String email = user.getEmail();
+        principalCache.evictUnknownLogins(username, email);
+        evict(id, () -> {
+            principalCache.evictUnknownLogins(username, email);
+            revocationService.getObject().updateEpoch(id, epoch);
+        });
+    }
+
+    @PostRemove
+    public void onRemove(AuthUser user) {
+        Long id = user.getId();
+        evict(id, () -> revocationService.getObject().revokeAllTokens(id));
+    }
+
+    private void evict(Long id, Runnable afterCommit) {
+        log.debug("Evicting cached principal for user ID: {}", id);
+        principalCache.evict(id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    principalCache.evict(id);
+                    if (status == STATUS_COMMITTED) {
+                        afterCommit.run();
+                    }
+                }
+            });
+        } else {
+            afterCommit.run();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.usermanagement.api.security;
+
+import com.usermanagement.api.model.AuthUser;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * Immutable snapshot of an {@link AuthUser} used for authentication.
+ *
+ * Detached from the persistence context so it can be cached and shared
+ * between threads. Wraps the {@link UserPrincipal} that goes into the
+ * security context and adds the email and password hash, which are only
+ * needed while checking credentials, and the token epoch read with them,
+ * which tokens issued at login carry.
+ */
+public record AuthUserDetails(
+        UserPrincipal principal,
+        String email,
+        String password,
+        Integer tokenEpoch
+) implements UserDetails {
+
+    /**
+     * Take a snapshot of an auth user entity
+     */
+    public static AuthUserDetails from(AuthUser user) {
+        return new AuthUserDetails(
+                new UserPrincipal(
+                        user.getId(),
+                        user.getUsername(),
+                        user.getRole(),
+                        UserPrincipal.accountFlagsOf(user)
+                ),
+                user.getEmail(),
+                user.getPassword(),
+                user.getTokenEpoch()
+        );
+    }
+
+    public Long id() {
+        return principal.id();
+    }
+
+    public String username() {
+        return principal.username();
+    }
+
+    public AuthUser.Role role() {
+        return principal.role();
+    }
+
+    /**
+     * Check if the given username or email identifies this user
+     */
+    public boolean matchesLogin(String usernameOrEmail) {
+        return usernameOrEmail.equalsIgnoreCase(principal.username()) || usernameOrEmail.equalsIgnoreCase(email);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return principal.getAuthorities();
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return principal.username();
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return principal.isAccountNonExpired();
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return principal.isAccountNonLocked();
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return principal.isCredentialsNonExpired();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return principal.isEnabled();
+    }
+
+    @Override
+    public String toString() {
+        return "AuthUserDetails[principal=" + principal + "]";
+    }
+}
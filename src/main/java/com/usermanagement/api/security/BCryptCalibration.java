@@ -0,0 +1,54 @@
+package com.usermanagement.api.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Picks the BCrypt work factor for the current hardware.
+ *
+ * Each extra cost step doubles the hashing time, so the time of one hash at
+ * the minimum cost is measured and the cost is raised while the estimate
+ * stays within the target latency.
+ */
+@Slf4j
+public final class BCryptCalibration {
+
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 31;
+
+    private static final int SAMPLES = 2;
+
+    private BCryptCalibration() {
+    }
+
+    /**
+     * Highest cost whose hashing time stays within the target, never below
+     * {@link #MIN_STRENGTH}
+     */
+    public static int strengthFor(Duration targetLatency) {
+        // Warm up the JIT with a cheap hash before measuring
+        BCrypt.hashpw("calibration", BCrypt.gensalt(4));
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            String salt = BCrypt.gensalt(MIN_STRENGTH);
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        long targetNanos = targetLatency.toNanos();
+        int strength = MIN_STRENGTH;
+        long estimatedNanos = bestNanos;
+        while (strength < MAX_STRENGTH && estimatedNanos * 2 <= targetNanos) {
+            strength++;
+            estimatedNanos *= 2;
+        }
+
+        log.info("BCrypt calibrated to cost {} (~{} ms per hash, target {} ms)",
+                 strength, estimatedNanos / 1_000_000, targetLatency.toMillis());
+        return strength;
+    }
+}
@@ -0,0 +1,70 @@
+package com.usermanagement.api.security;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/**
+ * DAO authentication provider that skips the password hash comparison for
+ * credentials verified within the {@link VerifiedCredentialCache} TTL.
+ *
+ * Account status checks still run on every authentication. Users locked out
+ * by the {@link LoginAttemptTracker} are rejected before any password check,
+ * and wrong passwords are counted towards the lockout.
+ */
+public class CachingDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final VerifiedCredentialCache credentialCache;
+    private final LoginAttemptTracker loginAttemptTracker;
+
+    public CachingDaoAuthenticationProvider(UserDetailsService userDetailsService,
+                                            VerifiedCredentialCache credentialCache,
+                                            LoginAttemptTracker loginAttemptTracker) {
+        super(userDetailsService);
+        this.credentialCache = credentialCache;
+        this.loginAttemptTracker = loginAttemptTracker;
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication)
+            throws AuthenticationException {
+        Long userId = userDetails instanceof AuthUserDetails details ? details.id() : null;
+        if (userId == null) {
+            checkPassword(userDetails, authentication);
+            return;
+        }
+
+        if (loginAttemptTracker.isLocked(userId)) {
+            throw new LockedException("User account is temporarily locked");
+        }
+        try {
+            checkPassword(userDetails, authentication);
+        } catch (BadCredentialsException e) {
+            loginAttemptTracker.recordFailure(userId);
+            throw e;
+        }
+    }
+
+    private void checkPassword(UserDetails userDetails, UsernamePasswordAuthenticationToken authentication) {
+        Object credentials = authentication.getCredentials();
+        String storedHash = userDetails.getPassword();
+        if (!credentialCache.isEnabled() || credentials == null || storedHash == null) {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+            return;
+        }
+
+        String username = userDetails.getUsername();
+        String password = credentials.toString();
+        if (credentialCache.contains(username, password, storedHash)) {
+            return;
+        }
+
+        super.additionalAuthenticationChecks(userDetails, authentication);
+        credentialCache.put(username, password, storedHash);
+    }
+}
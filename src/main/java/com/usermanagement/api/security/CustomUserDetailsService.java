@@ -8,11 +8,20 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
 
 /**
  * Custom UserDetailsService implementation for loading user details
  * from the database for Spring Security authentication.
+ *
+ * Returns immutable {@link AuthUserDetails} snapshots and serves repeated
+ * lookups from the {@link PrincipalCache}. Lookups are not wrapped in a
+ * transaction so that cache hits do not take a database connection.
+ *
+ * Identifiers containing '@' are looked up by email first, all others by
+ * username only, so each query uses a single unique index. Identifiers
+ * that matched no user are rejected from the cache for a short time.
  */
 @Service
 @RequiredArgsConstructor
@@ -20,29 +29,69 @@ import org.springframework.transaction.annotation.Transactional;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final AuthUserRepository authUserRepository;
+    private final PrincipalCache principalCache;
 
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
+        return loadDetails(usernameOrEmail);
+    }
+
+    /**
+     * Load the security principal by username, without credentials
+     */
+    public UserPrincipal loadPrincipalByUsername(String username) throws UsernameNotFoundException {
+        return loadDetails(username).principal();
+    }
+
+    private AuthUserDetails loadDetails(String usernameOrEmail) {
+        Optional<AuthUserDetails> cached = principalCache.getByLogin(usernameOrEmail);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        if (principalCache.isUnknownLogin(usernameOrEmail)) {
+            log.debug("Rejecting recently unknown user: {}", usernameOrEmail);
+            throw new UsernameNotFoundException("User not found: " + usernameOrEmail);
+        }
+
         log.debug("Attempting to load user: {}", usernameOrEmail);
         
-        AuthUser user = authUserRepository.findByUsernameOrEmail(usernameOrEmail)
+        long generation = principalCache.generation();
+        AuthUser user = findByLogin(usernameOrEmail)
                 .orElseThrow(() -> {
                     log.warn("User not found: {}", usernameOrEmail);
+                    principalCache.putUnknownLogin(usernameOrEmail, generation);
                     return new UsernameNotFoundException("User not found: " + usernameOrEmail);
                 });
 
         log.debug("User loaded successfully: {} (ID: {})", user.getUsername(), user.getId());
-        return user;
+        return cache(user, generation);
+    }
+
+    /**
+     * Route the lookup by the shape of the identifier. Usernames registered
+     * before '@' was disallowed are still found through the fallback.
+     */
+    private Optional<AuthUser> findByLogin(String usernameOrEmail) {
+        if (usernameOrEmail.indexOf('@') >= 0) {
+            Optional<AuthUser> byEmail = authUserRepository.findByEmail(usernameOrEmail);
+            return byEmail.isPresent() ? byEmail : authUserRepository.findByUsername(usernameOrEmail);
+        }
+        return authUserRepository.findByUsername(usernameOrEmail);
     }
 
     /**
      * Load user by ID
      */
-    @Transactional(readOnly = true)
     public UserDetails loadUserById(Long id) throws UsernameNotFoundException {
+        Optional<AuthUserDetails> cached = principalCache.getById(id);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
         log.debug("Attempting to load user by ID: {}", id);
         
+        long generation = principalCache.generation();
         AuthUser user = authUserRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("User not found with ID: {}", id);
@@ -50,6 +99,12 @@ public class CustomUserDetailsService implements UserDetailsService {
                 });
 
         log.debug("User loaded successfully by ID: {} (Username: {})", id, user.getUsername());
-        return user;
+        return cache(user, generation);
+    }
+
+    private AuthUserDetails cache(AuthUser user, long generation) {
+        AuthUserDetails details = AuthUserDetails.from(user);
+        principalCache.put(details, generation);
+        return details;
     }
 }
@@ -0,0 +1,117 @@
+package com.usermanagement.api.security;
+
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.jsonwebtoken.security.WeakKeyException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Allocation-light HMAC-SHA JWT codec used by {@link JwtUtil}.
+ *
+ * The key and the encoded header are derived once, {@link Mac} instances are
+ * kept per thread, signatures are compared in constant time and the payload
+ * is read with a streaming parser into a {@link VerifiedToken}, without
+ * building a claims map.
+ *
+ * The algorithm follows the key length the same way jjwt does (HS512 for
+ * keys of at least 512 bits, then HS384, then HS256), so tokens issued by
+ * jjwt with the same secret stay valid.
+ */
+final class HmacTokenCodec {
+
+    private final String algorithm;
+    private final String encodedHeader;
+    private final ThreadLocal<Mac> macs;
+
+    HmacTokenCodec(byte[] secret) {
+        int bits = secret.length * 8;
+        String jcaName;
+        if (bits >= 512) {
+            algorithm = "HS512";
+            jcaName = "HmacSHA512";
+        } else if (bits >= 384) {
+            algorithm = "HS384";
+            jcaName = "HmacSHA384";
+        } else if (bits >= 256) {
+            algorithm = "HS256";
+            jcaName = "HmacSHA256";
+        } else {
+            throw new WeakKeyException("JWT secret must be at least 256 bits, got " + bits);
+        }
+
+        SecretKeySpec key = new SecretKeySpec(secret, jcaName);
+        this.encodedHeader = JwtCodecSupport.encodeHeader(Map.of("alg", algorithm));
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(jcaName);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialize " + jcaName, e);
+            }
+        });
+    }
+
+    String algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Check if the token header is exactly the one this codec writes
+     */
+    boolean hasOwnHeader(String token, int headerEnd) {
+        return headerEnd == encodedHeader.length() && token.startsWith(encodedHeader);
+    }
+
+    /**
+     * Sign the given claims
+     */
+    String sign(Map<String, Object> claims, String subject, Instant issuedAt, Instant expiration) {
+        String signingInput = JwtCodecSupport.signingInput(encodedHeader, claims, subject, issuedAt, expiration);
+        byte[] signature = macs.get().doFinal(JwtCodecSupport.ascii(signingInput));
+        return signingInput + '.' + JwtCodecSupport.encode(signature);
+    }
+
+    /**
+     * Verify signature, expiration and not-before of a compact JWT
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid
+     */
+    VerifiedToken verify(String token) {
+        int headerEnd = JwtCodecSupport.headerEnd(token);
+        int payloadEnd = JwtCodecSupport.payloadEnd(token, headerEnd);
+
+        if (!hasOwnHeader(token, headerEnd)) {
+            checkHeader(token.substring(0, headerEnd));
+        }
+
+        Mac mac = macs.get();
+        mac.update(JwtCodecSupport.ascii(token), 0, payloadEnd);
+        byte[] expected = mac.doFinal();
+        byte[] actual = JwtCodecSupport.decode(token.substring(payloadEnd + 1));
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new SignatureException("JWT signature does not match");
+        }
+
+        return JwtCodecSupport.readPayload(token, headerEnd, payloadEnd, null);
+    }
+
+    /**
+     * Slow path for headers that differ from the one this codec writes
+     */
+    private void checkHeader(String encoded) {
+        Map<?, ?> header = JwtCodecSupport.decodeHeader(encoded);
+        if (!algorithm.equals(header.get("alg"))) {
+            throw new UnsupportedJwtException("Unsupported JWT algorithm: " + header.get("alg"));
+        }
+        if (header.containsKey("crit")) {
+            throw new UnsupportedJwtException("Critical JWT header parameters are not supported");
+        }
+    }
+}
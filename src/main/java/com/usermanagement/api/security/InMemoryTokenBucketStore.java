@@ -0,0 +1,58 @@
+package com.usermanagement.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free in-memory token buckets using the generic cell rate algorithm.
+ *
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival
+ * time, updated with compare-and-set. Buckets live in a bounded Caffeine map
+ * (internally striped) and are dropped after being idle, at which point they
+ * would have refilled anyway.
+ */
+@Component
+public class InMemoryTokenBucketStore implements TokenBucketStore {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public InMemoryTokenBucketStore(
+            @Value("${auth.throttle.maximum-keys:100000}") long maximumKeys,
+            @Value("${auth.throttle.idle-expiry:10m}") Duration idleExpiry,
+            MeterRegistry meterRegistry
+    ) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "auth.throttle.buckets");
+    }
+
+    @Override
+    public Duration tryAcquire(String key, BucketLimit limit) {
+        long interval = limit.emissionIntervalNanos();
+        long tolerance = interval * (limit.capacity() - 1);
+        long now = System.nanoTime();
+
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = arrival.get();
+            long theoretical = current - now > 0 ? current : now;
+            long allowedAt = theoretical - tolerance;
+            if (allowedAt - now > 0) {
+                return Duration.ofNanos(allowedAt - now);
+            }
+            if (arrival.compareAndSet(current, theoretical + interval)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+}
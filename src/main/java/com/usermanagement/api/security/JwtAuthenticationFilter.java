@@ -6,22 +6,27 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
 
 /**
  * JWT Authentication Filter for processing JWT tokens in HTTP requests.
  * 
  * Intercepts requests, extracts JWT tokens from Authorization header,
  * validates them, and sets up Spring Security authentication context.
+ *
+ * The security context holds a compact {@link UserPrincipal}, never the
+ * AuthUser entity. In stateless principal mode the principal is built from
+ * the verified token claims instead of loading the user from the database.
  */
 @Component
 @RequiredArgsConstructor
@@ -31,6 +36,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
 
+    @Value("${jwt.stateless-principal.enabled:false}")
+    private boolean statelessPrincipal;
+
+    @Value("${jwt.stateless-principal.max-age:0}") // 0 = bounded only by token expiration
+    private long statelessPrincipalMaxAge;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -41,26 +52,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
-                
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    
-                    if (jwtUtil.validateToken(jwt, userDetails)) {
-                        UsernamePasswordAuthenticationToken authToken = 
-                            new UsernamePasswordAuthenticationToken(
-                                userDetails, 
-                                null, 
-                                userDetails.getAuthorities()
-                            );
-                        
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                        
-                        log.debug("User authenticated: {} for URI: {}", username, request.getRequestURI());
-                    }
-                }
+            if (StringUtils.hasText(jwt) && SecurityContextHolder.getContext().getAuthentication() == null) {
+                jwtUtil.verifyToken(jwt).ifPresent(verifiedToken -> authenticate(verifiedToken, request));
             }
         } catch (Exception e) {
             log.error("Error processing JWT authentication: {}", e.getMessage());
@@ -70,6 +63,60 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Set up the security context from an already verified token
+     */
+    private void authenticate(VerifiedToken verifiedToken, HttpServletRequest request) {
+        String username = verifiedToken.subject();
+        if (username == null) {
+            return;
+        }
+
+        if (canUseTokenClaims(verifiedToken)) {
+            UserPrincipal principal = UserPrincipal.fromToken(verifiedToken);
+            if (principal.isActive()) {
+                setAuthentication(principal, request);
+            }
+            return;
+        }
+
+        UserPrincipal principal = userDetailsService.loadPrincipalByUsername(username);
+
+        if (username.equals(principal.username())) {
+            setAuthentication(principal, request);
+        }
+    }
+
+    /**
+     * Check if the principal can be built from token claims alone: the mode
+     * is enabled, the claims are present and the token is not older than
+     * the configured maximum age
+     */
+    private boolean canUseTokenClaims(VerifiedToken verifiedToken) {
+        if (!statelessPrincipal || !verifiedToken.hasPrincipalClaims()) {
+            return false;
+        }
+        if (statelessPrincipalMaxAge <= 0) {
+            return true;
+        }
+        return verifiedToken.issuedAt() != null &&
+               verifiedToken.issuedAt().plusMillis(statelessPrincipalMaxAge).isAfter(Instant.now());
+    }
+
+    private void setAuthentication(UserPrincipal principal, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken = 
+            new UsernamePasswordAuthenticationToken(
+                principal, 
+                null, 
+                principal.getAuthorities()
+            );
+        
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        
+        log.debug("User authenticated: {} for URI: {}", principal.username(), request.getRequestURI());
+    }
+
     /**
      * Extract JWT token from Authorization header
      */
@@ -0,0 +1,167 @@
+package com.usermanagement.api.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.PrematureJwtException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encoding helpers shared by the JWT codecs.
+ */
+final class JwtCodecSupport {
+
+    private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = OBJECT_MAPPER.getFactory();
+
+    private JwtCodecSupport() {
+    }
+
+    /**
+     * Position of the header/payload separator, validating that the token
+     * has exactly three parts
+     */
+    static int headerEnd(String token) {
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (headerEnd <= 0 || payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            throw new MalformedJwtException("JWT must have exactly three parts");
+        }
+        return headerEnd;
+    }
+
+    /**
+     * Position of the payload/signature separator
+     */
+    static int payloadEnd(String token, int headerEnd) {
+        return token.indexOf('.', headerEnd + 1);
+    }
+
+    static String encodeHeader(Map<String, Object> header) {
+        return encode(toJson(header));
+    }
+
+    static Map<?, ?> decodeHeader(String encoded) {
+        try {
+            return OBJECT_MAPPER.readValue(decode(encoded), Map.class);
+        } catch (IOException e) {
+            throw new MalformedJwtException("Invalid JWT header", e);
+        }
+    }
+
+    /**
+     * Build the signing input (header.payload); iat and exp are written as epoch seconds
+     */
+    static String signingInput(String encodedHeader, Map<String, Object> claims, String subject,
+                               Instant issuedAt, Instant expiration) {
+        Map<String, Object> payload = new LinkedHashMap<>(claims);
+        payload.put("sub", subject);
+        payload.put("iat", issuedAt.getEpochSecond());
+        payload.put("exp", expiration.getEpochSecond());
+        return encodedHeader + '.' + encode(toJson(payload));
+    }
+
+    /**
+     * Read the claims needed by the application from a verified payload and
+     * check exp and nbf
+     */
+    static VerifiedToken readPayload(String token, int headerEnd, int payloadEnd, String keyId) {
+        byte[] json = decode(token.substring(headerEnd + 1, payloadEnd));
+
+        String subject = null;
+        String type = null;
+        String role = null;
+        Long issuedAt = null;
+        Long expiration = null;
+        Long notBefore = null;
+        Long userId = null;
+        Integer accountFlags = null;
+        String tokenId = null;
+        Integer epoch = null;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MalformedJwtException("JWT payload must be a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "sub" -> subject = parser.getValueAsString();
+                    case "iat" -> issuedAt = parser.getValueAsLong();
+                    case "exp" -> expiration = parser.getValueAsLong();
+                    case "nbf" -> notBefore = parser.getValueAsLong();
+                    case JwtUtil.CLAIM_TYPE -> type = parser.getValueAsString();
+                    case JwtUtil.CLAIM_USER_ID -> userId = parser.getValueAsLong();
+                    case JwtUtil.CLAIM_ROLE -> role = parser.getValueAsString();
+                    case JwtUtil.CLAIM_ACCOUNT_FLAGS -> accountFlags = parser.getValueAsInt();
+                    case JwtUtil.CLAIM_TOKEN_ID -> tokenId = parser.getValueAsString();
+                    case JwtUtil.CLAIM_EPOCH -> epoch = parser.getValueAsInt();
+                    default -> {
+                        if (value.isStructStart()) {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new MalformedJwtException("Invalid JWT payload", e);
+        }
+
+        long now = Instant.now().getEpochSecond();
+        if (expiration != null && now >= expiration) {
+            throw new ExpiredJwtException(null, null, "JWT expired at " + Instant.ofEpochSecond(expiration));
+        }
+        if (notBefore != null && now < notBefore) {
+            throw new PrematureJwtException(null, null, "JWT not valid before " + Instant.ofEpochSecond(notBefore));
+        }
+
+        return new VerifiedToken(
+                subject,
+                issuedAt != null ? Instant.ofEpochSecond(issuedAt) : null,
+                expiration != null ? Instant.ofEpochSecond(expiration) : null,
+                type,
+                userId,
+                role,
+                accountFlags,
+                tokenId,
+                epoch,
+                keyId
+        );
+    }
+
+    static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    static String encode(byte[] bytes) {
+        return BASE64_URL_ENCODER.encodeToString(bytes);
+    }
+
+    static byte[] decode(String base64Url) {
+        try {
+            return BASE64_URL_DECODER.decode(base64Url);
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("Invalid Base64Url encoding in JWT", e);
+        }
+    }
+
+    private static byte[] toJson(Map<String, Object> value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize JWT JSON", e);
+        }
+    }
+}
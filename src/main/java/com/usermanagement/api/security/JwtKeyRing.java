@@ -0,0 +1,392 @@
+package com.usermanagement.api.security;
+
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Ring of asymmetric JWT signing keys (EdDSA/Ed25519 and ES256) selected by kid.
+ *
+ * Keys are read from {@code jwt.key-ring.location}: each key has a
+ * {@code <kid>.pub.pem} (X.509) file and, if it may sign, a
+ * {@code <kid>.key.pem} (PKCS#8) file. New tokens are signed with
+ * {@code jwt.key-ring.active-kid}, or with the greatest kid that has a
+ * private key. The directory is re-read periodically, so keys are rotated by
+ * adding a new key pair and removed once no valid token uses them; cached
+ * tokens of removed keys are evicted on reload. Public keys are published as
+ * a JWKS so other services can verify tokens locally.
+ *
+ * Without a location the ring refuses to start, unless
+ * {@code jwt.key-ring.generate-ephemeral} allows an in-memory key for
+ * development.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtKeyRing {
+
+    private static final String PUBLIC_KEY_SUFFIX = ".pub.pem";
+    private static final String PRIVATE_KEY_SUFFIX = ".key.pem";
+
+    private static final ThreadLocal<Map<String, Signature>> SIGNATURES = ThreadLocal.withInitial(HashMap::new);
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Value("${jwt.key-ring.enabled:false}")
+    private boolean enabled;
+
+    @Value("${jwt.key-ring.location:}")
+    private String location;
+
+    @Value("${jwt.key-ring.active-kid:}")
+    private String activeKid;
+
+    @Value("${jwt.key-ring.generate-ephemeral:false}")
+    private boolean generateEphemeral;
+
+    @Value("${jwt.key-ring.generate-algorithm:EdDSA}")
+    private String generateAlgorithm;
+
+    private volatile KeySet keySet = KeySet.EMPTY;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        if (StringUtils.hasText(location)) {
+            keySet = load(Paths.get(location));
+        } else if (!generateEphemeral) {
+            throw new IllegalStateException("jwt.key-ring.location must be set when the JWT key ring is enabled " +
+                                            "(jwt.key-ring.generate-ephemeral=true allows a temporary key for development)");
+        } else {
+            log.warn("jwt.key-ring.location not set, generating an ephemeral {} key; " +
+                     "tokens will not survive a restart", generateAlgorithm);
+            keySet = KeySet.of(List.of(generate(generateAlgorithm)), null);
+        }
+        log.info("JWT key ring loaded: {} keys, active kid: {}", keySet.byKid().size(), keySet.active().kid());
+    }
+
+    /**
+     * Re-read the key directory to pick up rotated keys
+     */
+    @Scheduled(fixedDelayString = "${jwt.key-ring.reload-interval:60000}",
+               initialDelayString = "${jwt.key-ring.reload-interval:60000}")
+    public void reload() {
+        if (!enabled || !StringUtils.hasText(location)) {
+            return;
+        }
+        try {
+            KeySet reloaded = load(Paths.get(location));
+            KeySet previous = keySet;
+            keySet = reloaded;
+            if (!reloaded.byKid().keySet().equals(previous.byKid().keySet()) ||
+                !reloaded.active().kid().equals(previous.active().kid())) {
+                log.info("JWT key ring reloaded: kids {}, active kid: {}",
+                         reloaded.byKid().keySet(), reloaded.active().kid());
+            }
+
+            // Tokens of removed keys would otherwise stay valid from the cache until they expire
+            Set<String> removedKids = new HashSet<>(previous.byKid().keySet());
+            removedKids.removeAll(reloaded.byKid().keySet());
+            if (!removedKids.isEmpty()) {
+                verifiedTokenCache.invalidateKeys(removedKids);
+                log.info("JWT keys removed from the ring, cached tokens evicted: {}", removedKids);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not reload JWT key ring, keeping current keys: {}", e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sign the given claims with the active key
+     */
+    String sign(Map<String, Object> claims, String subject, Instant issuedAt, Instant expiration) {
+        RingKey key = keySet.active();
+        String signingInput = JwtCodecSupport.signingInput(key.encodedHeader(), claims, subject, issuedAt, expiration);
+        try {
+            Signature signature = signature(key.jcaName());
+            signature.initSign(key.privateKey());
+            signature.update(JwtCodecSupport.ascii(signingInput));
+            return signingInput + '.' + JwtCodecSupport.encode(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign JWT with key " + key.kid(), e);
+        }
+    }
+
+    /**
+     * Verify a token signed by a key of this ring
+     *
+     * @return the verified token, or null if the token header has no kid
+     * @throws io.jsonwebtoken.JwtException if the token is invalid
+     */
+    VerifiedToken verify(String token) {
+        int headerEnd = JwtCodecSupport.headerEnd(token);
+        int payloadEnd = JwtCodecSupport.payloadEnd(token, headerEnd);
+
+        RingKey key = findKey(token.substring(0, headerEnd));
+        if (key == null) {
+            return null;
+        }
+
+        boolean valid;
+        try {
+            Signature signature = signature(key.jcaName());
+            signature.initVerify(key.publicKey());
+            signature.update(JwtCodecSupport.ascii(token), 0, payloadEnd);
+            valid = signature.verify(JwtCodecSupport.decode(token.substring(payloadEnd + 1)));
+        } catch (GeneralSecurityException e) {
+            throw new SignatureException("JWT signature could not be verified: " + e.getMessage(), e);
+        }
+        if (!valid) {
+            throw new SignatureException("JWT signature does not match");
+        }
+
+        return JwtCodecSupport.readPayload(token, headerEnd, payloadEnd, key.kid());
+    }
+
+    /**
+     * Public keys as a JSON Web Key Set
+     */
+    public Map<String, Object> jwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (RingKey key : keySet.byKid().values()) {
+            keys.add(key.jwk());
+        }
+        return Map.of("keys", keys);
+    }
+
+    private RingKey findKey(String encodedHeader) {
+        KeySet current = keySet;
+        RingKey key = current.byEncodedHeader().get(encodedHeader);
+        if (key != null) {
+            return key;
+        }
+
+        Map<?, ?> header = JwtCodecSupport.decodeHeader(encodedHeader);
+        Object kid = header.get("kid");
+        if (kid == null) {
+            return null;
+        }
+        key = current.byKid().get(kid.toString());
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT key ID: " + kid);
+        }
+        if (!key.algorithm().equals(header.get("alg"))) {
+            throw new UnsupportedJwtException("JWT algorithm " + header.get("alg") + " does not match key " + kid);
+        }
+        if (header.containsKey("crit")) {
+            throw new UnsupportedJwtException("Critical JWT header parameters are not supported");
+        }
+        return key;
+    }
+
+    private static Signature signature(String jcaName) throws GeneralSecurityException {
+        Map<String, Signature> signatures = SIGNATURES.get();
+        Signature signature = signatures.get(jcaName);
+        if (signature == null) {
+            signature = Signature.getInstance(jcaName);
+            signatures.put(jcaName, signature);
+        }
+        return signature;
+    }
+
+    private KeySet load(Path directory) {
+        List<RingKey> keys = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path publicKeyFile : files.filter(f -> f.getFileName().toString().endsWith(PUBLIC_KEY_SUFFIX)).toList()) {
+                String fileName = publicKeyFile.getFileName().toString();
+                String kid = fileName.substring(0, fileName.length() - PUBLIC_KEY_SUFFIX.length());
+                Path privateKeyFile = directory.resolve(kid + PRIVATE_KEY_SUFFIX);
+                keys.add(readKey(kid, publicKeyFile, Files.exists(privateKeyFile) ? privateKeyFile : null));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read JWT keys from " + directory, e);
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("No JWT keys (*" + PUBLIC_KEY_SUFFIX + ") found in " + directory);
+        }
+        return KeySet.of(keys, StringUtils.hasText(activeKid) ? activeKid : null);
+    }
+
+    private static RingKey readKey(String kid, Path publicKeyFile, Path privateKeyFile) throws IOException {
+        byte[] publicDer = readPem(publicKeyFile);
+        PublicKey publicKey;
+        String keyFactory;
+        try {
+            publicKey = KeyFactory.getInstance("Ed25519").generatePublic(new X509EncodedKeySpec(publicDer));
+            keyFactory = "Ed25519";
+        } catch (InvalidKeySpecException e) {
+            try {
+                publicKey = KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(publicDer));
+                keyFactory = "EC";
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("Unsupported public key in " + publicKeyFile, ex);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unsupported public key in " + publicKeyFile, e);
+        }
+
+        PrivateKey privateKey = null;
+        if (privateKeyFile != null) {
+            try {
+                privateKey = KeyFactory.getInstance(keyFactory)
+                        .generatePrivate(new PKCS8EncodedKeySpec(readPem(privateKeyFile)));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Invalid private key in " + privateKeyFile, e);
+            }
+        }
+        return RingKey.of(kid, publicKey, privateKey);
+    }
+
+    private static byte[] readPem(Path file) throws IOException {
+        String base64 = Files.readString(file)
+                .replaceAll("-----[A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static RingKey generate(String algorithm) {
+        try {
+            KeyPairGenerator generator;
+            if ("ES256".equals(algorithm)) {
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            } else {
+                generator = KeyPairGenerator.getInstance("Ed25519");
+            }
+            KeyPair keyPair = generator.generateKeyPair();
+            String kid = "ephemeral-" + UUID.randomUUID().toString().substring(0, 8);
+            return RingKey.of(kid, keyPair.getPublic(), keyPair.getPrivate());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate " + algorithm + " key", e);
+        }
+    }
+
+    /**
+     * Immutable view of the loaded keys with O(1) lookup by kid and by encoded header.
+     */
+    private record KeySet(Map<String, RingKey> byKid, Map<String, RingKey> byEncodedHeader, RingKey active) {
+
+        static final KeySet EMPTY = new KeySet(Map.of(), Map.of(), null);
+
+        static KeySet of(List<RingKey> keys, String activeKid) {
+            TreeMap<String, RingKey> sorted = new TreeMap<>();
+            Map<String, RingKey> byHeader = new HashMap<>();
+            for (RingKey key : keys) {
+                sorted.put(key.kid(), key);
+                byHeader.put(key.encodedHeader(), key);
+            }
+
+            RingKey active;
+            if (activeKid != null) {
+                active = sorted.get(activeKid);
+                if (active == null || active.privateKey() == null) {
+                    throw new IllegalStateException("Active JWT kid " + activeKid + " has no private key");
+                }
+            } else {
+                active = sorted.descendingMap().values().stream()
+                        .filter(key -> key.privateKey() != null)
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("No JWT key with a private key to sign with"));
+            }
+            return new KeySet(new LinkedHashMap<>(sorted), byHeader, active);
+        }
+    }
+
+    /**
+     * A key of the ring with its precomputed JWT header.
+     */
+    private record RingKey(String kid, String algorithm, String jcaName, PublicKey publicKey,
+                           PrivateKey privateKey, String encodedHeader) {
+
+        static RingKey of(String kid, PublicKey publicKey, PrivateKey privateKey) {
+            String algorithm;
+            String jcaName;
+            if (publicKey instanceof EdECPublicKey) {
+                algorithm = "EdDSA";
+                jcaName = "Ed25519";
+            } else if (publicKey instanceof ECPublicKey ec && ec.getParams().getCurve().getField().getFieldSize() == 256) {
+                algorithm = "ES256";
+                jcaName = "SHA256withECDSAinP1363Format";
+            } else {
+                throw new IllegalStateException("Unsupported JWT key type for kid " + kid + ": " + publicKey.getAlgorithm());
+            }
+
+            Map<String, Object> header = new LinkedHashMap<>();
+            header.put("alg", algorithm);
+            header.put("kid", kid);
+            return new RingKey(kid, algorithm, jcaName, publicKey, privateKey, JwtCodecSupport.encodeHeader(header));
+        }
+
+        Map<String, Object> jwk() {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            if (publicKey instanceof ECPublicKey ec) {
+                jwk.put("kty", "EC");
+                jwk.put("crv", "P-256");
+                jwk.put("x", JwtCodecSupport.encode(unsigned(ec.getW().getAffineX(), 32)));
+                jwk.put("y", JwtCodecSupport.encode(unsigned(ec.getW().getAffineY(), 32)));
+            } else {
+                // The raw Ed25519 public key is the last 32 bytes of its X.509 encoding
+                byte[] encoded = publicKey.getEncoded();
+                jwk.put("kty", "OKP");
+                jwk.put("crv", "Ed25519");
+                jwk.put("x", JwtCodecSupport.encode(Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length)));
+            }
+            jwk.put("kid", kid);
+            jwk.put("alg", algorithm);
+            jwk.put("use", "sig");
+            return jwk;
+        }
+
+        private static byte[] unsigned(BigInteger value, int length) {
+            byte[] bytes = value.toByteArray();
+            byte[] result = new byte[length];
+            int copy = Math.min(bytes.length, length);
+            System.arraycopy(bytes, bytes.length - copy, result, length - copy, copy);
+            return result;
+        }
+    }
+}
@@ -1,28 +1,54 @@
 package com.usermanagement.api.security;
 
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import com.usermanagement.api.model.AuthUser;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.util.Date;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
 
 /**
  * JWT utility class for token generation, validation, and extraction.
  * 
  * Handles JWT operations including token creation, validation,
  * and claim extraction for authentication and authorization.
+ *
+ * Signing and verification go through a reusable {@link HmacTokenCodec}, or
+ * through the asymmetric {@link JwtKeyRing} when it is enabled; HMAC tokens
+ * stay valid after switching. Claims are read from the token returned by
+ * {@link #verifyToken(String)}.
+ *
+ * Every token carries a unique ID (jti) and, when issued for a known user,
+ * the user's token epoch, so it can be revoked through the
+ * {@link TokenRevocationService} before it expires.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtUtil {
 
+    static final String CLAIM_TYPE = "type";
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_ACCOUNT_FLAGS = "acct";
+    static final String CLAIM_TOKEN_ID = "jti";
+    static final String CLAIM_EPOCH = "ep";
+
+    private static final SecureRandom TOKEN_ID_RANDOM = new SecureRandom();
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final JwtKeyRing keyRing;
+    private final TokenRevocationService revocationService;
+
     @Value("${jwt.secret:user-management-secret-key-2024}")
     private String secret;
 
@@ -32,62 +58,61 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration:604800000}") // 7 days in milliseconds
     private Long refreshExpiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
-    }
+    private HmacTokenCodec codec;
 
-    /**
-     * Extract username from JWT token
-     */
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    @PostConstruct
+    void init() {
+        codec = new HmacTokenCodec(secret.getBytes(StandardCharsets.UTF_8));
+        if (!keyRing.isEnabled()) {
+            log.info("JWT signing initialized with {}", codec.algorithm());
+        }
     }
 
     /**
-     * Extract expiration date from JWT token
+     * Verify signature and expiration of a JWT token with a single parse.
+     * Tokens found in the verified token cache are not parsed again.
+     *
+     * @return the verified claims, or empty if the token is invalid, expired or revoked
      */
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+    public Optional<VerifiedToken> verifyToken(String token) {
+        Optional<VerifiedToken> cached = verifiedTokenCache.get(token);
+        if (cached.isPresent()) {
+            return cached.filter(this::isNotRevoked);
+        }
 
-    /**
-     * Extract specific claim from JWT token
-     */
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        try {
+            VerifiedToken verifiedToken = null;
+            if (keyRing.isEnabled() && !codec.hasOwnHeader(token, JwtCodecSupport.headerEnd(token))) {
+                verifiedToken = keyRing.verify(token);
+            }
+            if (verifiedToken == null) {
+                verifiedToken = codec.verify(token);
+            }
+            verifiedTokenCache.put(token, verifiedToken);
+            return Optional.of(verifiedToken).filter(this::isNotRevoked);
+        } catch (Exception e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
 
-    /**
-     * Extract all claims from JWT token
-     */
-    private Claims extractAllClaims(String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (ExpiredJwtException e) {
-            log.warn("JWT token expired: {}", e.getMessage());
-            throw e;
-        } catch (UnsupportedJwtException e) {
-            log.error("JWT token not supported: {}", e.getMessage());
-            throw e;
-        } catch (MalformedJwtException e) {
-            log.error("JWT token malformed: {}", e.getMessage());
-            throw e;
-        } catch (SecurityException | IllegalArgumentException e) {
-            log.error("JWT token invalid: {}", e.getMessage());
-            throw e;
+    private boolean isNotRevoked(VerifiedToken verifiedToken) {
+        if (revocationService.isRevoked(verifiedToken)) {
+            log.warn("Revoked JWT token used for: {}", verifiedToken.subject());
+            return false;
         }
+        return true;
     }
 
     /**
-     * Check if JWT token is expired
+     * Revoke a token before it expires
+     *
+     * @return false if the token is invalid or has no ID
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean revokeToken(String token) {
+        return verifyToken(token)
+                .map(verifiedToken -> revocationService.revoke(token, verifiedToken))
+                .orElse(false);
     }
 
     /**
@@ -95,6 +120,7 @@ public class JwtUtil {
      */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        addPrincipalClaims(claims, userDetails);
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -103,15 +129,66 @@ public class JwtUtil {
      */
     public String generateToken(UserDetails userDetails, Map<String, Object> extraClaims) {
         Map<String, Object> claims = new HashMap<>(extraClaims);
+        addPrincipalClaims(claims, userDetails);
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Embed user ID, role and account flags so the principal can be
+     * rebuilt from the token without a database lookup
+     */
+    private void addPrincipalClaims(Map<String, Object> claims, UserDetails userDetails) {
+        if (userDetails instanceof AuthUser user) {
+            claims.put(CLAIM_ROLE, user.getRole().name());
+        } else if (userDetails instanceof AuthUserDetails details) {
+            claims.put(CLAIM_ROLE, details.role().name());
+        } else if (userDetails instanceof UserPrincipal principal) {
+            claims.put(CLAIM_ROLE, principal.role().name());
+        } else {
+            return;
+        }
+        addUserClaims(claims, userDetails);
+        claims.put(CLAIM_ACCOUNT_FLAGS, UserPrincipal.accountFlagsOf(userDetails));
+    }
+
+    /**
+     * Embed the user ID and the user's current token epoch
+     */
+    private void addUserClaims(Map<String, Object> claims, UserDetails userDetails) {
+        Long userId = null;
+        Integer loadedEpoch = null;
+        if (userDetails instanceof AuthUser user) {
+            userId = user.getId();
+            loadedEpoch = user.getTokenEpoch();
+        } else if (userDetails instanceof AuthUserDetails details) {
+            userId = details.id();
+            loadedEpoch = details.tokenEpoch();
+        } else if (userDetails instanceof UserPrincipal principal) {
+            userId = principal.id();
+        }
+        if (userId != null) {
+            // The loaded user may be ahead of this instance until the next epoch sync;
+            // issuing an older epoch would get the new token rejected after that sync
+            revocationService.updateEpoch(userId, loadedEpoch);
+            claims.put(CLAIM_USER_ID, userId);
+            claims.put(CLAIM_EPOCH, revocationService.currentEpoch(userId));
+        }
+    }
+
+    /**
+     * Access token lifetime in seconds
+     */
+    public long getExpirationInSeconds() {
+        return expiration / 1000;
+    }
+
     /**
      * Generate refresh token
      */
     public String generateRefreshToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("type", "refresh");
+        claims.put(CLAIM_TYPE, VerifiedToken.REFRESH_TYPE);
+        addUserClaims(claims, userDetails);
         return createRefreshToken(claims, userDetails.getUsername());
     }
 
@@ -119,69 +196,52 @@ public class JwtUtil {
      * Create JWT token
      */
     private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
-                .claims(claims)
-                .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
-                .compact();
+        Instant now = Instant.now();
+        return sign(claims, subject, now, now.plusMillis(expiration));
     }
 
     /**
      * Create refresh token
      */
     private String createRefreshToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
-                .claims(claims)
-                .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + refreshExpiration))
-                .signWith(getSigningKey())
-                .compact();
+        Instant now = Instant.now();
+        return sign(claims, subject, now, now.plusMillis(refreshExpiration));
+    }
+
+    private String sign(Map<String, Object> claims, String subject, Instant issuedAt, Instant expiresAt) {
+        claims.put(CLAIM_TOKEN_ID, newTokenId());
+        if (keyRing.isEnabled()) {
+            return keyRing.sign(claims, subject, issuedAt, expiresAt);
+        }
+        return codec.sign(claims, subject, issuedAt, expiresAt);
+    }
+
+    private static String newTokenId() {
+        byte[] bytes = new byte[16];
+        TOKEN_ID_RANDOM.nextBytes(bytes);
+        return JwtCodecSupport.encode(bytes);
     }
 
     /**
-     * Validate JWT token
+     * Public signing keys as a JSON Web Key Set (empty when only HMAC is used)
      */
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-        } catch (Exception e) {
-            log.error("Error validating JWT token: {}", e.getMessage());
-            return false;
-        }
+    public Map<String, Object> getJwks() {
+        return keyRing.isEnabled() ? keyRing.jwks() : Map.of("keys", List.of());
     }
 
     /**
-     * Validate if token is valid (not expired and well-formed)
+     * Validate JWT token
      */
-    public Boolean validateToken(String token) {
-        try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
-        }
+    public Boolean validateToken(String token, UserDetails userDetails) {
+        return verifyToken(token)
+                .map(verified -> verified.subject().equals(userDetails.getUsername()))
+                .orElse(false);
     }
 
     /**
-     * Extract token information for logging/debug
+     * Validate if token is valid (not expired and well-formed)
      */
-    public Map<String, Object> getTokenInfo(String token) {
-        try {
-            Claims claims = extractAllClaims(token);
-            Map<String, Object> info = new HashMap<>();
-            info.put("subject", claims.getSubject());
-            info.put("issuedAt", claims.getIssuedAt());
-            info.put("expiration", claims.getExpiration());
-            info.put("expired", isTokenExpired(token));
-            return info;
-        } catch (Exception e) {
-            log.error("Error extracting token information: {}", e.getMessage());
-            return Map.of("error", e.getMessage());
-        }
+    public Boolean validateToken(String token) {
+        return verifyToken(token).isPresent();
     }
 }
@@ -0,0 +1,173 @@
+package com.usermanagement.api.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind tracking of last login, failed attempts and lockout.
+ *
+ * Counters live in memory and changes are coalesced per user, so a login
+ * never writes to auth_users. Pending changes are flushed with one JDBC
+ * batch UPDATE per interval, and users with failed attempts or an active
+ * lock are reloaded at startup.
+ *
+ * A lock takes effect immediately on the instance that counted the failures
+ * and is persisted within the flush interval; other instances see it after
+ * their next restart. Changes not yet flushed are lost in a crash.
+ */
+@Component
+@Slf4j
+public class LoginAttemptTracker implements DisposableBean {
+
+    private static final String UPDATE_SQL =
+            "UPDATE auth_users SET last_login_at = COALESCE(?, last_login_at), failed_attempts = ?, " +
+            "locked_until = ?, updated_at = updated_at WHERE auth_user_id = ?";
+    private static final String LOAD_SQL =
+            "SELECT auth_user_id, failed_attempts, locked_until FROM auth_users " +
+            "WHERE failed_attempts > 0 OR locked_until > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxFailedAttempts;
+    private final Duration lockDuration;
+
+    /** Failed attempts and lock of users with at least one failure since their last success */
+    private final Map<Long, FailureState> failures = new ConcurrentHashMap<>();
+    /** Latest unflushed state per user */
+    private final Map<Long, PendingUpdate> pending = new ConcurrentHashMap<>();
+
+    public LoginAttemptTracker(
+            JdbcTemplate jdbcTemplate,
+            @Value("${auth.lockout.max-failed-attempts:5}") int maxFailedAttempts,
+            @Value("${auth.lockout.duration:15m}") Duration lockDuration
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxFailedAttempts = maxFailedAttempts;
+        this.lockDuration = lockDuration;
+    }
+
+    /**
+     * Reload users that have failed attempts or are still locked
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadState() {
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            Timestamp lockedUntil = rs.getTimestamp("locked_until");
+            failures.putIfAbsent(rs.getLong("auth_user_id"), new FailureState(
+                    rs.getInt("failed_attempts"),
+                    lockedUntil != null ? lockedUntil.toLocalDateTime() : null
+            ));
+        }, Timestamp.valueOf(LocalDateTime.now()));
+        log.info("Login attempt tracking initialized with {} users", failures.size());
+    }
+
+    /**
+     * Check if a user is locked out after too many failed attempts
+     */
+    public boolean isLocked(Long userId) {
+        FailureState state = failures.get(userId);
+        return state != null && state.isLocked(LocalDateTime.now());
+    }
+
+    /**
+     * Record a successful login: resets failed attempts and any lock
+     */
+    public void recordSuccess(Long userId) {
+        failures.remove(userId);
+        pending.put(userId, new PendingUpdate(LocalDateTime.now(), 0, null));
+    }
+
+    /**
+     * Record a failed password check, locking the user once the limit is reached
+     */
+    public void recordFailure(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        FailureState state = failures.compute(userId, (id, current) -> {
+            // A lock that has run out starts a new count
+            int attempts = current == null || current.hasExpiredLock(now) ? 1 : current.attempts() + 1;
+            LocalDateTime lockedUntil = attempts >= maxFailedAttempts ? now.plus(lockDuration) : null;
+            return new FailureState(attempts, lockedUntil);
+        });
+        if (state.attempts() == maxFailedAttempts) {
+            log.warn("User ID {} locked until {} after {} failed login attempts", userId, state.lockedUntil(), state.attempts());
+        }
+        pending.merge(userId, new PendingUpdate(null, state.attempts(), state.lockedUntil()),
+                (previous, update) -> new PendingUpdate(previous.lastLoginAt(), update.failedAttempts(), update.lockedUntil()));
+    }
+
+    /**
+     * Write the coalesced changes of the last interval in one batch
+     */
+    @Scheduled(fixedDelayString = "${auth.lockout.flush-interval:10000}",
+               initialDelayString = "${auth.lockout.flush-interval:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, PendingUpdate>> batch = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            PendingUpdate update = pending.remove(userId);
+            if (update != null) {
+                batch.add(Map.entry(userId, update));
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, entry) -> {
+                PendingUpdate update = entry.getValue();
+                if (update.lastLoginAt() != null) {
+                    ps.setTimestamp(1, Timestamp.valueOf(update.lastLoginAt()));
+                } else {
+                    ps.setNull(1, Types.TIMESTAMP);
+                }
+                ps.setInt(2, update.failedAttempts());
+                if (update.lockedUntil() != null) {
+                    ps.setTimestamp(3, Timestamp.valueOf(update.lockedUntil()));
+                } else {
+                    ps.setNull(3, Types.TIMESTAMP);
+                }
+                ps.setLong(4, entry.getKey());
+            });
+            log.debug("Flushed login tracking of {} users", batch.size());
+        } catch (RuntimeException e) {
+            // Newer changes recorded meanwhile win over the failed batch
+            batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), (newer, failed) ->
+                    newer.lastLoginAt() != null ? newer
+                            : new PendingUpdate(failed.lastLoginAt(), newer.failedAttempts(), newer.lockedUntil())));
+            log.error("Could not flush login tracking of {} users: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    private record FailureState(int attempts, LocalDateTime lockedUntil) {
+
+        boolean isLocked(LocalDateTime now) {
+            return lockedUntil != null && lockedUntil.isAfter(now);
+        }
+
+        boolean hasExpiredLock(LocalDateTime now) {
+            return lockedUntil != null && !lockedUntil.isAfter(now);
+        }
+    }
+
+    private record PendingUpdate(LocalDateTime lastLoginAt, int failedAttempts, LocalDateTime lockedUntil) {
+    }
+}
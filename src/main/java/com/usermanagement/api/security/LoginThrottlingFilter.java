@@ -0,0 +1,255 @@
+package com.usermanagement.api.security;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.api.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Throttles login and registration per client IP and per username.
+ *
+ * Runs before authentication, so rejected requests cost no password hashing
+ * and no database lookup. The body is read once (up to max-body-size, larger
+ * bodies get 413) to find the username and replayed to the controller.
+ * Rejections answer 429 with Retry-After.
+ */
+@Component
+@Slf4j
+public class LoginThrottlingFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/auth/login";
+    private static final String REGISTER_PATH = "/auth/register";
+
+    private final TokenBucketStore bucketStore;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxBodySize;
+    private final TokenBucketStore.BucketLimit ipLimit;
+    private final TokenBucketStore.BucketLimit usernameLimit;
+    private final Counter ipRejections;
+    private final Counter usernameRejections;
+
+    public LoginThrottlingFilter(
+            TokenBucketStore bucketStore,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${auth.throttle.enabled:true}") boolean enabled,
+            @Value("${auth.throttle.max-body-size:8192}") int maxBodySize,
+            @Value("${auth.throttle.ip.capacity:20}") long ipCapacity,
+            @Value("${auth.throttle.ip.refill-period:1m}") Duration ipRefillPeriod,
+            @Value("${auth.throttle.username.capacity:5}") long usernameCapacity,
+            @Value("${auth.throttle.username.refill-period:1m}") Duration usernameRefillPeriod
+    ) {
+        this.bucketStore = bucketStore;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxBodySize = maxBodySize;
+        this.ipLimit = new TokenBucketStore.BucketLimit(ipCapacity, ipRefillPeriod);
+        this.usernameLimit = new TokenBucketStore.BucketLimit(usernameCapacity, usernameRefillPeriod);
+        this.ipRejections = rejectionCounter(meterRegistry, "ip");
+        this.usernameRejections = rejectionCounter(meterRegistry, "username");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String path = request.getServletPath();
+        Duration wait = bucketStore.tryAcquire("ip:" + path + ':' + request.getRemoteAddr(), ipLimit);
+        if (!wait.isZero()) {
+            ipRejections.increment();
+            log.warn("Throttled {} from IP: {}", path, request.getRemoteAddr());
+            reject(request, response, wait);
+            return;
+        }
+
+        // Read at most one byte past the limit whatever Content-Length says, so chunked
+        // or padded bodies cannot skip the username bucket
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            log.warn("Rejected {} body larger than {} bytes from IP: {}", path, maxBodySize, request.getRemoteAddr());
+            rejectTooLarge(request, response);
+            return;
+        }
+
+        String username = readUsername(body, LOGIN_PATH.equals(path) ? "usernameOrEmail" : "username");
+        if (username != null) {
+            wait = bucketStore.tryAcquire("user:" + path + ':' + username.toLowerCase(Locale.ROOT), usernameLimit);
+            if (!wait.isZero()) {
+                usernameRejections.increment();
+                log.warn("Throttled {} for username: {}", path, username);
+                reject(request, response, wait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    /**
+     * Only POST requests to login and register are throttled
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return !LOGIN_PATH.equals(path) && !REGISTER_PATH.equals(path);
+    }
+
+    /**
+     * Read a top-level string field from the JSON body, or null if absent
+     * or the body is not valid JSON (validation reports that later)
+     */
+    private String readUsername(byte[] body, String field) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals(name) && value == JsonToken.VALUE_STRING) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            log.debug("Could not read username from request body: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, Duration wait) throws IOException {
+        long retryAfterSeconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        writeError(request, response, HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, please retry later");
+    }
+
+    private void rejectTooLarge(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE,
+                   "Request body must not exceed " + maxBodySize + " bytes");
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String message) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String key) {
+        return Counter.builder("auth.throttle.rejected")
+                .description("Login and registration requests rejected by throttling")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Request whose body has already been read and is served from memory
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The whole body is already in memory, so it is available at once
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.usermanagement.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-process cache of {@link AuthUserDetails} snapshots.
+ *
+ * Entries are stored by user ID and can also be reached by username or email.
+ * Writes to auth users evict the affected entry; a generation counter keeps
+ * a lookup that raced with such a write from caching the old row.
+ *
+ * Logins that matched no user are remembered separately for a short time,
+ * so repeated unknown identifiers are rejected without a query.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final boolean enabled;
+    private final Cache<Long, AuthUserDetails> usersById;
+    private final Cache<String, Long> userIdsByLogin;
+    private final Cache<String, Boolean> unknownLogins;
+    private final AtomicLong generation = new AtomicLong();
+
+    public PrincipalCache(
+            @Value("${auth.principal-cache.enabled:true}") boolean enabled,
+            @Value("${auth.principal-cache.maximum-size:10000}") long maximumSize,
+            @Value("${auth.principal-cache.ttl:60s}") Duration ttl,
+            @Value("${auth.principal-cache.unknown-logins.maximum-size:100000}") long unknownLoginsMaximumSize,
+            @Value("${auth.principal-cache.unknown-logins.ttl:30s}") Duration unknownLoginsTtl,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.userIdsByLogin = Caffeine.newBuilder()
+                .maximumSize(maximumSize * 2)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.unknownLogins = Caffeine.newBuilder()
+                .maximumSize(unknownLoginsMaximumSize)
+                .expireAfterWrite(unknownLoginsTtl)
+                .recordStats()
+                .build();
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, usersById, "auth.principals");
+            CaffeineCacheMetrics.monitor(meterRegistry, userIdsByLogin, "auth.principal-logins");
+            CaffeineCacheMetrics.monitor(meterRegistry, unknownLogins, "auth.unknown-logins");
+            log.info("Principal cache enabled (maximum size: {}, TTL: {})", maximumSize, ttl);
+        }
+    }
+
+    /**
+     * Get a cached user by ID
+     */
+    public Optional<AuthUserDetails> getById(Long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(usersById.getIfPresent(id));
+    }
+
+    /**
+     * Get a cached user by username or email
+     */
+    public Optional<AuthUserDetails> getByLogin(String usernameOrEmail) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Long id = userIdsByLogin.getIfPresent(normalize(usernameOrEmail));
+        if (id == null) {
+            return Optional.empty();
+        }
+        return getById(id).filter(user -> user.matchesLogin(usernameOrEmail));
+    }
+
+    /**
+     * Current generation; read it before loading a user from the database
+     * and pass it to {@link #put}
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Cache a user loaded from the database, unless an eviction happened
+     * since the given generation was read
+     */
+    public void put(AuthUserDetails user, long loadedAtGeneration) {
+        if (!enabled || loadedAtGeneration != generation.get()) {
+            return;
+        }
+
+        usersById.put(user.id(), user);
+        userIdsByLogin.put(normalize(user.username()), user.id());
+        userIdsByLogin.put(normalize(user.email()), user.id());
+
+        // An eviction may have run between the generation check and the puts
+        if (loadedAtGeneration != generation.get()) {
+            usersById.invalidate(user.id());
+        }
+    }
+
+    /**
+     * Check if a login recently matched no user
+     */
+    public boolean isUnknownLogin(String usernameOrEmail) {
+        return enabled && unknownLogins.getIfPresent(normalize(usernameOrEmail)) != null;
+    }
+
+    /**
+     * Remember a login that matched no user, unless an eviction happened
+     * since the given generation was read
+     */
+    public void putUnknownLogin(String usernameOrEmail, long loadedAtGeneration) {
+        if (!enabled || loadedAtGeneration != generation.get()) {
+            return;
+        }
+
+        String login = normalize(usernameOrEmail);
+        unknownLogins.put(login, Boolean.TRUE);
+
+        if (loadedAtGeneration != generation.get()) {
+            unknownLogins.invalidate(login);
+        }
+    }
+
+    /**
+     * Forget unknown-login entries for the username and email of a user
+     * that was created or changed
+     */
+    public void evictUnknownLogins(String username, String email) {
+        generation.incrementAndGet();
+        if (username != null) {
+            unknownLogins.invalidate(normalize(username));
+        }
+        if (email != null) {
+            unknownLogins.invalidate(normalize(email));
+        }
+    }
+
+    /**
+     * Evict a user after it was created, changed or deleted
+     */
+    public void evict(Long id) {
+        generation.incrementAndGet();
+        if (id != null) {
+            usersById.invalidate(id);
+        }
+    }
+
+    /**
+     * Evict all users
+     */
+    public void evictAll() {
+        generation.incrementAndGet();
+        usersById.invalidateAll();
+        userIdsByLogin.invalidateAll();
+        unknownLogins.invalidateAll();
+    }
+
+    /**
+     * Hit, miss and eviction counters of the lookups by ID
+     */
+    public CacheStats stats() {
+        return usersById.stats();
+    }
+
+    private static String normalize(String usernameOrEmail) {
+        return usernameOrEmail.toLowerCase(Locale.ROOT);
+    }
+}
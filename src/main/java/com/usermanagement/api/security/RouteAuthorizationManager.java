@@ -0,0 +1,341 @@
+package com.usermanagement.api.security;
+
+import com.usermanagement.api.model.AuthUser;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Request authorization from a table compiled once at startup.
+ *
+ * Each controller method annotated with {@code @PreAuthorize} becomes a
+ * route (HTTP method + path template) with a role bitmask, so a request is
+ * authorized with one pattern match and one bit test instead of a matcher
+ * list plus SpEL evaluation. GET routes also cover HEAD, which Spring MVC
+ * serves with the GET handler. Requests that match no annotated route are
+ * denied when a mapped path does not declare their method, and otherwise
+ * fall back to the URL rules, then to "authenticated". Paths are matched
+ * within the application, i.e. without the context path, as the controller
+ * mappings are.
+ *
+ * Only {@code hasRole}, {@code hasAnyRole} and {@code isAuthenticated} are
+ * supported. Startup fails on any other expression, and when an annotated
+ * route disagrees with the URL rule that covers it.
+ */
+@Slf4j
+public class RouteAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext>,
+        SmartInitializingSingleton {
+
+    /** Mask meaning any authenticated principal, with or without an application role */
+    private static final int AUTHENTICATED = -1;
+    /** Mask granting no role, for methods a mapped path does not declare */
+    private static final int DENIED = 0;
+    private static final Pattern HAS_ROLE = Pattern.compile("\\s*has(?:Any)?Role\\(([^)]*)\\)\\s*");
+    private static final Pattern IS_AUTHENTICATED = Pattern.compile("\\s*isAuthenticated\\(\\)\\s*");
+    private static final Pattern ROLE_NAME = Pattern.compile("\\s*'(?:ROLE_)?(\\w+)'\\s*");
+    private static final Pattern TEMPLATE_VARIABLE = Pattern.compile("\\{[^}]*}|\\*\\*|\\*");
+
+    private final List<RouteRule> urlRules;
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappings;
+
+    private volatile Map<String, RouteRule[]> routesByMethod = Map.of();
+    private volatile MappedPath[] mappedPaths = new MappedPath[0];
+
+    public RouteAuthorizationManager(List<RouteRule> urlRules,
+                                     ObjectProvider<RequestMappingHandlerMapping> handlerMappings) {
+        this.urlRules = List.copyOf(urlRules);
+        this.handlerMappings = handlerMappings;
+    }
+
+    /**
+     * Compile the route table once all controllers are registered
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        RequestMappingHandlerMapping handlerMapping = handlerMappings.getIfAvailable();
+        if (handlerMapping == null) {
+            log.warn("No request mappings found, only URL rules will be used for authorization");
+            return;
+        }
+        compile(handlerMapping.getHandlerMethods());
+    }
+
+    private void compile(Map<RequestMappingInfo, HandlerMethod> handlerMethods) {
+        Map<String, List<RouteRule>> routes = new HashMap<>();
+        Map<PathPattern, Set<String>> methodsByPath = new HashMap<>();
+        List<String> conflicts = new ArrayList<>();
+
+        handlerMethods.forEach((info, handlerMethod) -> {
+            for (PathPattern pattern : patternsOf(info)) {
+                Set<String> methods = methodsByPath.computeIfAbsent(pattern, path -> new HashSet<>());
+                methodsOf(info).forEach(method -> methods.add(method.name()));
+            }
+
+            PreAuthorize preAuthorize = findPreAuthorize(handlerMethod);
+            if (preAuthorize == null) {
+                return;
+            }
+            int mask = parse(preAuthorize.value(), handlerMethod);
+
+            for (RequestMethod requestMethod : methodsOf(info)) {
+                for (PathPattern pattern : patternsOf(info)) {
+                    RouteRule route = new RouteRule(requestMethod.asHttpMethod(), pattern, mask);
+                    checkAgainstUrlRules(route, handlerMethod, conflicts);
+                    routes.computeIfAbsent(requestMethod.name(), method -> new ArrayList<>()).add(route);
+                }
+            }
+        });
+
+        if (!conflicts.isEmpty()) {
+            throw new IllegalStateException("@PreAuthorize and URL authorization rules disagree:\n  " +
+                                            String.join("\n  ", conflicts));
+        }
+
+        Map<String, RouteRule[]> compiled = new HashMap<>();
+        routes.forEach((method, rules) -> compiled.put(method, rules.stream()
+                .sorted(Comparator.comparing(RouteRule::pattern, PathPattern.SPECIFICITY_COMPARATOR))
+                .toArray(RouteRule[]::new)));
+        routesByMethod = Map.copyOf(compiled);
+        mappedPaths = methodsByPath.entrySet().stream()
+                .map(entry -> new MappedPath(entry.getKey(), Set.copyOf(entry.getValue())))
+                .toArray(MappedPath[]::new);
+
+        log.info("Route authorization table compiled: {} routes",
+                 compiled.values().stream().mapToInt(rules -> rules.length).sum());
+    }
+
+    @Override
+    public AuthorizationDecision authorize(Supplier<Authentication> authentication,
+                                           RequestAuthorizationContext context) {
+        Authentication current = authentication.get();
+        if (current == null || !current.isAuthenticated() || current instanceof AnonymousAuthenticationToken) {
+            return new AuthorizationDecision(false);
+        }
+
+        HttpServletRequest request = context.getRequest();
+        int required = requiredRoles(request.getMethod(), pathWithinApplication(request));
+        return new AuthorizationDecision(required == AUTHENTICATED || (required & roleBitOf(current)) != 0);
+    }
+
+    /**
+     * @deprecated kept because the interface still declares it; use {@link #authorize}
+     */
+    @Deprecated
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return authorize(authentication, context);
+    }
+
+    /**
+     * Role mask for a request: the most specific annotated route, else none
+     * if the path is mapped for other methods only, else the first matching
+     * URL rule, else any authenticated role
+     */
+    private int requiredRoles(String method, PathContainer path) {
+        RouteRule[] routes = routesByMethod.get(method);
+        if (routes != null) {
+            for (RouteRule route : routes) {
+                if (route.pattern().matches(path)) {
+                    return route.roleMask();
+                }
+            }
+        }
+
+        if (isUndeclaredMethod(method, path)) {
+            return DENIED;
+        }
+
+        for (RouteRule rule : urlRules) {
+            if (appliesTo(rule, method) && rule.pattern().matches(path)) {
+                return rule.roleMask();
+            }
+        }
+        return AUTHENTICATED;
+    }
+
+    /**
+     * Check if the path is mapped, but only for other methods
+     */
+    private boolean isUndeclaredMethod(String method, PathContainer path) {
+        boolean mapped = false;
+        for (MappedPath mappedPath : mappedPaths) {
+            if (mappedPath.pattern().matches(path)) {
+                if (mappedPath.methods().contains(method)) {
+                    return false;
+                }
+                mapped = true;
+            }
+        }
+        return mapped;
+    }
+
+    /**
+     * Path without the context path, whatever the servlet mapping, as matched
+     * by the controller mappings
+     */
+    private static PathContainer pathWithinApplication(HttpServletRequest request) {
+        return RequestPath.parse(request.getRequestURI(), request.getContextPath()).pathWithinApplication();
+    }
+
+    /**
+     * URL rules for GET also apply to HEAD
+     */
+    private static boolean appliesTo(RouteRule rule, String method) {
+        return rule.method().matches(method) ||
+               (HttpMethod.HEAD.matches(method) && rule.method().equals(HttpMethod.GET));
+    }
+
+    private static int roleBitOf(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return RouteRule.bitOf(principal.role());
+        }
+        int mask = 0;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith("ROLE_")) {
+                try {
+                    mask |= RouteRule.bitOf(AuthUser.Role.valueOf(name.substring(5)));
+                } catch (IllegalArgumentException e) {
+                    // Not an application role
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Compare an annotated route with the first URL rule matching a sample
+     * path built from its template
+     */
+    private void checkAgainstUrlRules(RouteRule route, HandlerMethod handlerMethod, List<String> conflicts) {
+        String sample = TEMPLATE_VARIABLE.matcher(route.pattern().getPatternString()).replaceAll("x");
+        PathContainer samplePath = PathContainer.parsePath(sample);
+        String method = route.method().name();
+
+        RouteRule urlRule = urlRules.stream()
+                .filter(rule -> appliesTo(rule, method) && rule.pattern().matches(samplePath))
+                .findFirst()
+                .orElse(null);
+
+        if (urlRule == null) {
+            conflicts.add(method + " " + route.pattern() + " (" + handlerMethod.getShortLogMessage() +
+                          ") has no URL rule");
+        } else if (urlRule.roleMask() != route.roleMask()) {
+            conflicts.add(method + " " + route.pattern() + " (" + handlerMethod.getShortLogMessage() +
+                          ") allows " + rolesOf(route.roleMask()) + " but URL rule " + urlRule.method() + " " +
+                          urlRule.pattern() + " allows " + rolesOf(urlRule.roleMask()));
+        }
+    }
+
+    private static PreAuthorize findPreAuthorize(HandlerMethod handlerMethod) {
+        PreAuthorize annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), PreAuthorize.class);
+        return annotation != null
+                ? annotation
+                : AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), PreAuthorize.class);
+    }
+
+    /**
+     * Translate a supported @PreAuthorize expression into a role mask
+     */
+    private static int parse(String expression, HandlerMethod handlerMethod) {
+        if (IS_AUTHENTICATED.matcher(expression).matches()) {
+            return AUTHENTICATED;
+        }
+        Matcher hasRole = HAS_ROLE.matcher(expression);
+        if (hasRole.matches()) {
+            int mask = 0;
+            for (String argument : hasRole.group(1).split(",")) {
+                Matcher roleName = ROLE_NAME.matcher(argument);
+                if (!roleName.matches()) {
+                    throw unsupported(expression, handlerMethod);
+                }
+                try {
+                    mask |= RouteRule.bitOf(AuthUser.Role.valueOf(roleName.group(1)));
+                } catch (IllegalArgumentException e) {
+                    throw unsupported(expression, handlerMethod);
+                }
+            }
+            return mask;
+        }
+        throw unsupported(expression, handlerMethod);
+    }
+
+    private static IllegalStateException unsupported(String expression, HandlerMethod handlerMethod) {
+        return new IllegalStateException("Unsupported @PreAuthorize expression \"" + expression + "\" on " +
+                                         handlerMethod.getShortLogMessage() +
+                                         "; only hasRole, hasAnyRole and isAuthenticated are supported");
+    }
+
+    /**
+     * Declared methods of a mapping, with HEAD for GET mappings
+     */
+    private static Set<RequestMethod> methodsOf(RequestMappingInfo info) {
+        Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+        if (methods.isEmpty()) {
+            return Set.of(RequestMethod.values());
+        }
+        if (methods.contains(RequestMethod.GET) && !methods.contains(RequestMethod.HEAD)) {
+            Set<RequestMethod> withHead = EnumSet.copyOf(methods);
+            withHead.add(RequestMethod.HEAD);
+            return withHead;
+        }
+        return methods;
+    }
+
+    private static Set<PathPattern> patternsOf(RequestMappingInfo info) {
+        if (info.getPathPatternsCondition() != null) {
+            return info.getPathPatternsCondition().getPatterns();
+        }
+        return Set.copyOf(info.getPatternValues().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList());
+    }
+
+    private static String rolesOf(int mask) {
+        if (mask == AUTHENTICATED) {
+            return "any authenticated";
+        }
+        return Arrays.stream(AuthUser.Role.values())
+                .filter(role -> (mask & RouteRule.bitOf(role)) != 0)
+                .map(Enum::name)
+                .toList()
+                .toString();
+    }
+
+    /**
+     * A mapped path pattern with every method declared for it.
+     */
+    private record MappedPath(PathPattern pattern, Set<String> methods) {
+    }
+}
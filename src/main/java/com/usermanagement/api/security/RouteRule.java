@@ -0,0 +1,36 @@
+package com.usermanagement.api.security;
+
+import com.usermanagement.api.model.AuthUser;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * URL authorization rule: requests with the given method whose path matches
+ * the pattern require one of the roles, encoded as a bitmask of
+ * {@link AuthUser.Role} ordinals.
+ */
+public record RouteRule(HttpMethod method, PathPattern pattern, int roleMask) {
+
+    /**
+     * Create a rule for a method, a path pattern and the allowed roles
+     */
+    public static RouteRule of(HttpMethod method, String pattern, AuthUser.Role... roles) {
+        return new RouteRule(method, PathPatternParser.defaultInstance.parse(pattern), maskOf(roles));
+    }
+
+    /**
+     * Bitmask with one bit per role
+     */
+    public static int maskOf(AuthUser.Role... roles) {
+        int mask = 0;
+        for (AuthUser.Role role : roles) {
+            mask |= bitOf(role);
+        }
+        return mask;
+    }
+
+    public static int bitOf(AuthUser.Role role) {
+        return 1 << role.ordinal();
+    }
+}
@@ -0,0 +1,43 @@
+package com.usermanagement.api.security;
+
+import java.time.Duration;
+
+/**
+ * Backend of the token buckets used by {@link LoginThrottlingFilter}.
+ *
+ * The default implementation is in-memory and per instance; a shared store
+ * (e.g. Redis) can be plugged in by declaring a {@code @Primary} bean of
+ * this type.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Take one token from the bucket of the given key
+     *
+     * @return {@link Duration#ZERO} if a token was taken, otherwise the time
+     *         until the next token is available
+     */
+    Duration tryAcquire(String key, BucketLimit limit);
+
+    /**
+     * Bucket size and the time in which an empty bucket refills completely
+     */
+    record BucketLimit(long capacity, Duration refillPeriod) {
+
+        public BucketLimit {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("Bucket capacity must be at least 1");
+            }
+            if (refillPeriod.isNegative() || refillPeriod.isZero()) {
+                throw new IllegalArgumentException("Bucket refill period must be positive");
+            }
+        }
+
+        /**
+         * Time to refill a single token
+         */
+        public long emissionIntervalNanos() {
+            return refillPeriod.toNanos() / capacity;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.usermanagement.api.security;
+
+import com.usermanagement.api.repository.AuthUserRepository;
+import com.usermanagement.api.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory token revocation checked on every authenticated request.
+ *
+ * Two mechanisms, both answered without a database round trip:
+ * <ul>
+ *   <li>a per-user token epoch: tokens carrying an older epoch than the
+ *       user's current one are rejected (password change, disable, lock);</li>
+ *   <li>a denylist of revoked token IDs (jti), fronted by a Bloom filter so
+ *       tokens that were never revoked skip the map lookup. Entries are
+ *       dropped once the token would have expired anyway.</li>
+ * </ul>
+ *
+ * Epochs are loaded at startup and synced periodically from auth_users, so
+ * changes made by other instances are picked up within the sync interval.
+ * Deleted users keep a blocking epoch only until every token issued before
+ * the deletion has expired. The jti denylist is local to this instance.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    private final AuthUserRepository authUserRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Value("${jwt.revocation.expected-revocations:100000}")
+    private long expectedRevocations;
+
+    @Value("${jwt.revocation.sync-interval:30000}")
+    private long syncInterval;
+
+    @Value("${jwt.expiration:86400000}")
+    private long accessTokenExpiration;
+
+    @Value("${jwt.refresh-expiration:604800000}")
+    private long refreshTokenExpiration;
+
+    private final Map<Long, Integer> epochs = new ConcurrentHashMap<>();
+    private final Map<Long, Instant> deletedUsers = new ConcurrentHashMap<>();
+    private final Map<String, Instant> revokedTokenIds = new ConcurrentHashMap<>();
+    private final Object revocationLock = new Object();
+
+    private volatile BloomFilter revokedFilter;
+    private volatile LocalDateTime lastSync;
+
+    /**
+     * Load the epochs of users that have revoked their tokens before
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadEpochs() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        authUserRepository.findByTokenEpochGreaterThan(0)
+                .forEach(epoch -> updateEpoch(epoch.getId(), epoch.getTokenEpoch()));
+        lastSync = startedAt;
+        log.info("Token revocation initialized with {} user epochs", epochs.size());
+    }
+
+    /**
+     * Pick up epochs changed by other instances
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:30000}",
+               initialDelayString = "${jwt.revocation.sync-interval:30000}")
+    public void syncEpochs() {
+        LocalDateTime since = lastSync;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            // Overlap the previous window to tolerate clock skew between instances
+            authUserRepository.findByUpdatedAtGreaterThanEqual(since.minus(Duration.ofMillis(syncInterval)))
+                    .forEach(epoch -> updateEpoch(epoch.getId(), epoch.getTokenEpoch()));
+            lastSync = startedAt;
+        } catch (RuntimeException e) {
+            log.error("Could not sync token epochs: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drop the epochs of deleted users and the denylist entries whose tokens
+     * have expired, and rebuild the Bloom filter
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:60000}",
+               initialDelayString = "${jwt.revocation.purge-interval:60000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        deletedUsers.entrySet().removeIf(deleted -> {
+            if (deleted.getValue().isAfter(now)) {
+                return false;
+            }
+            epochs.remove(deleted.getKey(), Integer.MAX_VALUE);
+            return true;
+        });
+
+        synchronized (revocationLock) {
+            if (!revokedTokenIds.values().removeIf(expiration -> !expiration.isAfter(now))) {
+                return;
+            }
+            if (revokedTokenIds.isEmpty()) {
+                revokedFilter = null;
+                return;
+            }
+            BloomFilter filter = newFilter();
+            revokedTokenIds.keySet().forEach(filter::add);
+            revokedFilter = filter;
+        }
+    }
+
+    /**
+     * Current token epoch of a user
+     */
+    public int currentEpoch(Long userId) {
+        return userId == null ? 0 : epochs.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Record a user's token epoch; epochs never go backwards
+     */
+    public void updateEpoch(Long userId, Integer epoch) {
+        if (userId == null || epoch == null || epoch <= 0) {
+            return;
+        }
+        epochs.merge(userId, epoch, Math::max);
+    }
+
+    /**
+     * Revoke every token of a user that no longer exists, until the last
+     * token issued before the deletion has expired
+     */
+    public void revokeAllTokens(Long userId) {
+        if (userId != null) {
+            epochs.put(userId, Integer.MAX_VALUE);
+            deletedUsers.put(userId, Instant.now().plusMillis(Math.max(accessTokenExpiration, refreshTokenExpiration)));
+        }
+    }
+
+    /**
+     * Add a verified token to the denylist until it expires
+     *
+     * @return false if the token has no ID and cannot be revoked individually
+     */
+    public boolean revoke(String token, VerifiedToken verifiedToken) {
+        String tokenId = verifiedToken.tokenId();
+        if (tokenId == null) {
+            return false;
+        }
+        Instant expiration = verifiedToken.expiration() != null
+                ? verifiedToken.expiration()
+                : Instant.now().plusMillis(syncInterval);
+
+        synchronized (revocationLock) {
+            revokedTokenIds.put(tokenId, expiration);
+            BloomFilter filter = revokedFilter;
+            if (filter == null) {
+                filter = newFilter();
+                revokedFilter = filter;
+            }
+            filter.add(tokenId);
+        }
+        verifiedTokenCache.invalidate(token);
+        log.debug("Revoked token {} of {}", tokenId, verifiedToken.subject());
+        return true;
+    }
+
+    /**
+     * Check if a verified token was revoked by jti or by epoch
+     */
+    public boolean isRevoked(VerifiedToken verifiedToken) {
+        Long userId = verifiedToken.userId();
+        if (userId != null) {
+            Integer current = epochs.get(userId);
+            if (current != null) {
+                int tokenEpoch = verifiedToken.epoch() != null ? verifiedToken.epoch() : 0;
+                if (tokenEpoch < current) {
+                    return true;
+                }
+            }
+        }
+
+        String tokenId = verifiedToken.tokenId();
+        BloomFilter filter = revokedFilter;
+        return tokenId != null && filter != null &&
+               filter.mightContain(tokenId) && revokedTokenIds.containsKey(tokenId);
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(Math.max(expectedRevocations, revokedTokenIds.size() * 2L), BLOOM_FALSE_POSITIVE_RATE);
+    }
+}
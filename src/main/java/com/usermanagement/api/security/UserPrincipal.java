@@ -0,0 +1,112 @@
+package com.usermanagement.api.security;
+
+import com.usermanagement.api.model.AuthUser;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable authenticated principal stored in the security context.
+ *
+ * Holds only what authorization needs: user ID, username, role and the
+ * account status flags packed into a bit mask.
+ */
+public record UserPrincipal(
+        Long id,
+        String username,
+        AuthUser.Role role,
+        int accountFlags
+) implements UserDetails {
+
+    public static final int ENABLED = 1;
+    public static final int ACCOUNT_NON_EXPIRED = 1 << 1;
+    public static final int ACCOUNT_NON_LOCKED = 1 << 2;
+    public static final int CREDENTIALS_NON_EXPIRED = 1 << 3;
+    public static final int ACTIVE = ENABLED | ACCOUNT_NON_EXPIRED | ACCOUNT_NON_LOCKED | CREDENTIALS_NON_EXPIRED;
+
+    private static final Map<AuthUser.Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(AuthUser.Role.class);
+
+    static {
+        for (AuthUser.Role role : AuthUser.Role.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    /**
+     * Build a principal from claims embedded in a verified token
+     */
+    public static UserPrincipal fromToken(VerifiedToken token) {
+        return new UserPrincipal(
+                token.userId(),
+                token.subject(),
+                AuthUser.Role.valueOf(token.role()),
+                token.accountFlags()
+        );
+    }
+
+    /**
+     * Pack the account status flags of a user into a bit mask
+     */
+    public static int accountFlagsOf(UserDetails user) {
+        int flags = 0;
+        if (user.isEnabled()) flags |= ENABLED;
+        if (user.isAccountNonExpired()) flags |= ACCOUNT_NON_EXPIRED;
+        if (user.isAccountNonLocked()) flags |= ACCOUNT_NON_LOCKED;
+        if (user.isCredentialsNonExpired()) flags |= CREDENTIALS_NON_EXPIRED;
+        return flags;
+    }
+
+    /**
+     * Shared, immutable authority list for a role
+     */
+    public static List<GrantedAuthority> authoritiesOf(AuthUser.Role role) {
+        return AUTHORITIES.get(role);
+    }
+
+    /**
+     * Check if all account status flags allow authentication
+     */
+    public boolean isActive() {
+        return (accountFlags & ACTIVE) == ACTIVE;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES.get(role);
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return (accountFlags & ACCOUNT_NON_EXPIRED) != 0;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return (accountFlags & ACCOUNT_NON_LOCKED) != 0;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return (accountFlags & CREDENTIALS_NON_EXPIRED) != 0;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return (accountFlags & ENABLED) != 0;
+    }
+}
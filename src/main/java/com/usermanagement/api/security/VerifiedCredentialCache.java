@@ -0,0 +1,124 @@
+package com.usermanagement.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Short-lived cache of successful password verifications.
+ *
+ * Entries are keyed by an HMAC of username, presented password and stored
+ * password hash under a random per-process key, so neither the password nor
+ * a value that could be brute-forced offline is retained, and a password
+ * change makes old entries unreachable.
+ */
+@Component
+@Slf4j
+public class VerifiedCredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final Cache<CredentialKey, Boolean> cache;
+    private final ThreadLocal<Mac> macs;
+
+    public VerifiedCredentialCache(
+            @Value("${auth.credential-cache.enabled:false}") boolean enabled,
+            @Value("${auth.credential-cache.maximum-size:10000}") long maximumSize,
+            @Value("${auth.credential-cache.ttl:30s}") Duration ttl,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        SecretKeySpec key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialize " + HMAC_ALGORITHM, e);
+            }
+        });
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.verified-credentials");
+            log.info("Verified credential cache enabled (maximum size: {}, TTL: {})", maximumSize, ttl);
+        }
+    }
+
+    /**
+     * Check if these credentials were verified against this stored hash recently
+     */
+    public boolean contains(String username, String password, String storedHash) {
+        return enabled && cache.getIfPresent(keyOf(username, password, storedHash)) != null;
+    }
+
+    /**
+     * Remember a successful verification
+     */
+    public void put(String username, String password, String storedHash) {
+        if (enabled) {
+            cache.put(keyOf(username, password, storedHash), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Remove all entries
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Hit, miss and eviction counters
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private CredentialKey keyOf(String username, String password, String storedHash) {
+        Mac mac = macs.get();
+        update(mac, username);
+        update(mac, password);
+        update(mac, storedHash);
+        ByteBuffer hash = ByteBuffer.wrap(mac.doFinal());
+        return new CredentialKey(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    /**
+     * Length-prefixed so that field boundaries cannot be shifted
+     */
+    private static void update(Mac mac, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        mac.update(bytes);
+    }
+
+    private record CredentialKey(long w0, long w1, long w2, long w3) {
+    }
+}
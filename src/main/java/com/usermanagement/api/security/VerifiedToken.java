@@ -0,0 +1,48 @@
+package com.usermanagement.api.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature and expiration have already been verified.
+ *
+ * Produced by a single parse in {@link JwtUtil#verifyToken(String)} so that
+ * the authentication filter and services can read the token data without
+ * verifying the same token again. {@code keyId} is the kid of the key ring
+ * key that signed the token, or null for HMAC tokens.
+ */
+public record VerifiedToken(
+        String subject,
+        Instant issuedAt,
+        Instant expiration,
+        String type,
+        Long userId,
+        String role,
+        Integer accountFlags,
+        String tokenId,
+        Integer epoch,
+        String keyId
+) {
+
+    static final String REFRESH_TYPE = "refresh";
+
+    /**
+     * Check if this is a refresh token
+     */
+    public boolean isRefreshToken() {
+        return REFRESH_TYPE.equals(type);
+    }
+
+    /**
+     * Check if the token carries the user ID, role and account flags claims
+     */
+    public boolean hasPrincipalClaims() {
+        return userId != null && role != null && accountFlags != null;
+    }
+
+    /**
+     * Check if the token has expired since it was verified
+     */
+    public boolean isExpired() {
+        return expiration != null && !expiration.isAfter(Instant.now());
+    }
+}
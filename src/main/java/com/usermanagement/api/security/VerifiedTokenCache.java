@@ -0,0 +1,169 @@
+package com.usermanagement.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Bounded cache of already verified JWT tokens.
+ *
+ * Tokens are keyed by their SHA-256 digest and each entry expires at the
+ * token's own expiration, so an expired token is never served from the cache.
+ * Revoked tokens must be removed with {@link #invalidate(String)}, and
+ * tokens of keys removed from the key ring with {@link #invalidateKeys(Set)}.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final boolean enabled;
+    private final Cache<TokenKey, VerifiedToken> cache;
+
+    public VerifiedTokenCache(
+            @Value("${jwt.cache.enabled:false}") boolean enabled,
+            @Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+            log.info("Verified token cache enabled (maximum size: {})", maximumSize);
+        }
+    }
+
+    /**
+     * Get a previously verified token, if still valid
+     */
+    public Optional<VerifiedToken> get(String token) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        TokenKey key = TokenKey.of(token);
+        VerifiedToken verifiedToken = cache.getIfPresent(key);
+        if (verifiedToken == null) {
+            return Optional.empty();
+        }
+        if (verifiedToken.isExpired()) {
+            cache.invalidate(key);
+            return Optional.empty();
+        }
+        return Optional.of(verifiedToken);
+    }
+
+    /**
+     * Remember a token that has just been verified
+     */
+    public void put(String token, VerifiedToken verifiedToken) {
+        if (enabled && verifiedToken.expiration() != null && !verifiedToken.isExpired()) {
+            cache.put(TokenKey.of(token), verifiedToken);
+        }
+    }
+
+    /**
+     * Remove a token, e.g. after it has been revoked
+     */
+    public void invalidate(String token) {
+        if (enabled) {
+            cache.invalidate(TokenKey.of(token));
+        }
+    }
+
+    /**
+     * Remove the tokens signed by the given key ring kids, e.g. after the keys
+     * were removed from the ring
+     */
+    public void invalidateKeys(Set<String> keyIds) {
+        if (!keyIds.isEmpty()) {
+            cache.asMap().values().removeIf(token -> token.keyId() != null && keyIds.contains(token.keyId()));
+        }
+    }
+
+    /**
+     * Remove all cached tokens, e.g. after the signing key changed
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Hit, miss and eviction counters
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * SHA-256 digest of a token, so the cache never retains the token itself.
+     */
+    private record TokenKey(long w0, long w1, long w2, long w3) {
+
+        static TokenKey of(String token) {
+            MessageDigest digest = SHA_256.get();
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenKey(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+
+    /**
+     * Expires each entry at the expiration claim of its token.
+     */
+    private static final class TokenExpiry implements Expiry<TokenKey, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(TokenKey key, VerifiedToken value, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), value.expiration());
+            if (remaining.isNegative()) {
+                return 0L;
+            }
+            try {
+                return remaining.toNanos();
+            } catch (ArithmeticException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenKey key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenKey key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
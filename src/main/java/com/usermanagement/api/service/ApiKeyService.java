@@ -0,0 +1,100 @@
+package com.usermanagement.api.service;
+
+import com.usermanagement.api.dto.request.CreateApiKeyRequest;
+import com.usermanagement.api.dto.response.ApiKeyResponse;
+import com.usermanagement.api.exception.ResourceNotFoundException;
+import com.usermanagement.api.model.ApiKey;
+import com.usermanagement.api.repository.ApiKeyRepository;
+import com.usermanagement.api.repository.AuthUserRepository;
+import com.usermanagement.api.security.ApiKeyAuthenticator;
+import com.usermanagement.api.util.TokenHashing;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service class for API keys of service accounts.
+ *
+ * Keys are random 256-bit secrets returned once on creation; only their
+ * SHA-256 hash and a short prefix are stored.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApiKeyService {
+
+    private static final int DISPLAY_PREFIX_LENGTH = 12;
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final AuthUserRepository authUserRepository;
+    private final ApiKeyAuthenticator apiKeyAuthenticator;
+
+    @Transactional
+    public ApiKeyResponse create(CreateApiKeyRequest request) {
+        if (!authUserRepository.existsById(request.getAuthUserId())) {
+            throw new ResourceNotFoundException("AuthUser", request.getAuthUserId());
+        }
+
+        String key = ApiKeyAuthenticator.KEY_PREFIX + TokenHashing.randomSecret(ApiKeyAuthenticator.KEY_BYTES);
+
+        ApiKey apiKey = new ApiKey();
+        apiKey.setKeyHash(TokenHashing.sha256Hex(key));
+        apiKey.setKeyPrefix(key.substring(0, DISPLAY_PREFIX_LENGTH));
+        apiKey.setName(request.getName());
+        apiKey.setAuthUserId(request.getAuthUserId());
+        if (request.getExpiresInDays() != null) {
+            apiKey.setExpiresAt(LocalDateTime.now().plusDays(request.getExpiresInDays()));
+        }
+        apiKey.setRevoked(false);
+
+        ApiKey saved = apiKeyRepository.save(apiKey);
+        // A lookup of this key may have been cached as unknown
+        invalidateAfterCommit(saved.getKeyHash());
+        log.info("API key {} created for user ID: {}", saved.getId(), saved.getAuthUserId());
+        return ApiKeyResponse.from(saved, key);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ApiKeyResponse> findByAuthUserId(Long authUserId) {
+        log.debug("Finding API keys of user ID: {}", authUserId);
+        return apiKeyRepository.findByAuthUserIdOrderByIdAsc(authUserId).stream()
+                .map(apiKey -> ApiKeyResponse.from(apiKey, null))
+                .toList();
+    }
+
+    @Transactional
+    public void revoke(Long id) {
+        ApiKey apiKey = apiKeyRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ApiKey", id));
+
+        if (!Boolean.TRUE.equals(apiKey.getRevoked())) {
+            apiKey.setRevoked(true);
+            apiKey.setRevokedAt(LocalDateTime.now());
+            apiKeyRepository.save(apiKey);
+            log.info("API key {} revoked for user ID: {}", id, apiKey.getAuthUserId());
+        }
+        invalidateAfterCommit(apiKey.getKeyHash());
+    }
+
+    /**
+     * Drop a cached key now and again once the transaction completes, since a
+     * concurrent request may reload and cache the uncommitted state meanwhile
+     */
+    private void invalidateAfterCommit(String keyHash) {
+        apiKeyAuthenticator.invalidate(keyHash);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    apiKeyAuthenticator.invalidate(keyHash);
+                }
+            });
+        }
+    }
+}
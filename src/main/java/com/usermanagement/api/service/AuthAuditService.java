@@ -0,0 +1,241 @@
+package com.usermanagement.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Audit trail of authentication events, written off the request path.
+ *
+ * Events go into a bounded in-memory buffer without blocking the caller; a
+ * single background writer drains it and inserts the events into
+ * auth_audit_log in JDBC batches. When the buffer is full the configured
+ * overflow policy applies:
+ * <ul>
+ *   <li>DROP: discard the new event;</li>
+ *   <li>SAMPLE: once the buffer is filling up, keep only one in
+ *       {@code sample-rate} successful events; failures are always kept
+ *       while there is room;</li>
+ *   <li>BLOCK: wait up to {@code block-timeout} for room, then discard.</li>
+ * </ul>
+ * Events still buffered at shutdown are flushed; events lost in a crash are not.
+ */
+@Service
+@Slf4j
+public class AuthAuditService implements DisposableBean {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO auth_audit_log (event_type, username, auth_user_id, client_ip, occurred_at) VALUES (?, ?, ?, ?, ?)";
+    private static final int MAX_USERNAME_LENGTH = 100;
+
+    public enum EventType {
+        REGISTER,
+        LOGIN_SUCCESS,
+        LOGIN_FAILURE,
+        REFRESH,
+        REFRESH_FAILURE;
+
+        boolean isFailure() {
+            return this == LOGIN_FAILURE || this == REFRESH_FAILURE;
+        }
+    }
+
+    public enum OverflowPolicy {
+        DROP,
+        SAMPLE,
+        BLOCK
+    }
+
+    private record AuditEvent(EventType type, String username, Long authUserId, String clientIp, LocalDateTime occurredAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration blockTimeout;
+    private final int sampleRate;
+    private final int sampleFromSize;
+    private final BlockingQueue<AuditEvent> buffer;
+    private final AtomicLong sampleSequence = new AtomicLong();
+
+    private final Counter published;
+    private final Counter droppedFull;
+    private final Counter droppedSampled;
+    private final Counter droppedWriteFailure;
+    private final Counter flushed;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuthAuditService(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${auth.audit.enabled:true}") boolean enabled,
+            @Value("${auth.audit.buffer-capacity:8192}") int bufferCapacity,
+            @Value("${auth.audit.batch-size:500}") int batchSize,
+            @Value("${auth.audit.flush-interval:1s}") Duration flushInterval,
+            @Value("${auth.audit.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+            @Value("${auth.audit.block-timeout:50ms}") Duration blockTimeout,
+            @Value("${auth.audit.sample-rate:10}") int sampleRate,
+            @Value("${auth.audit.sample-threshold:0.75}") double sampleThreshold
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushInterval = flushInterval;
+        this.blockTimeout = blockTimeout;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.sampleFromSize = (int) (bufferCapacity * sampleThreshold);
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+
+        this.published = eventCounter(meterRegistry, "published");
+        this.droppedFull = eventCounter(meterRegistry, "dropped-full");
+        this.droppedSampled = eventCounter(meterRegistry, "dropped-sampled");
+        this.droppedWriteFailure = eventCounter(meterRegistry, "dropped-write-failure");
+        this.flushed = eventCounter(meterRegistry, "flushed");
+        Gauge.builder("auth.audit.buffer.size", buffer, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Authentication audit log disabled");
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "auth-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Record an event; never blocks longer than the BLOCK policy allows
+     */
+    public void publish(EventType type, String username, Long authUserId) {
+        if (!running) {
+            return;
+        }
+        AuditEvent event = new AuditEvent(type, truncate(username), authUserId, currentClientIp(), LocalDateTime.now());
+
+        if (overflowPolicy == OverflowPolicy.SAMPLE && !type.isFailure() && buffer.size() >= sampleFromSize &&
+            sampleSequence.incrementAndGet() % sampleRate != 0) {
+            droppedSampled.increment();
+            return;
+        }
+
+        boolean accepted;
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                accepted = buffer.offer(event, blockTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = buffer.offer(event);
+        }
+
+        if (accepted) {
+            published.increment();
+        } else {
+            droppedFull.increment();
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                AuditEvent first = buffer.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                ps.setString(1, event.type().name());
+                ps.setString(2, event.username());
+                if (event.authUserId() != null) {
+                    ps.setLong(3, event.authUserId());
+                } else {
+                    ps.setNull(3, Types.BIGINT);
+                }
+                ps.setString(4, event.clientIp());
+                ps.setTimestamp(5, Timestamp.valueOf(event.occurredAt()));
+            });
+            flushed.increment(batch.size());
+        } catch (RuntimeException e) {
+            droppedWriteFailure.increment(batch.size());
+            log.error("Could not write {} audit events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Stop accepting events and flush the buffer
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // Not interrupted: the writer notices within one flush interval and drains the buffer
+        running = false;
+        writer.join(flushInterval.toMillis() + 5000);
+    }
+
+    private static String currentClientIp() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
+    private static String truncate(String username) {
+        return username != null && username.length() > MAX_USERNAME_LENGTH
+                ? username.substring(0, MAX_USERNAME_LENGTH)
+                : username;
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("auth.audit.events")
+                .description("Authentication audit events by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -3,19 +3,42 @@ package com.usermanagement.api.service;
 import com.usermanagement.api.dto.request.LoginRequest;
 import com.usermanagement.api.dto.request.RegisterRequest;
 import com.usermanagement.api.dto.response.AuthResponse;
-import com.usermanagement.api.exception.DuplicateResourceException;
+import com.usermanagement.api.dto.response.TokenValidationResponse;
+import com.usermanagement.api.exception.ResourceNotFoundException;
+import com.usermanagement.api.exception.UniqueConstraint;
 import com.usermanagement.api.model.AuthUser;
+import com.usermanagement.api.model.RefreshToken;
 import com.usermanagement.api.repository.AuthUserRepository;
+import com.usermanagement.api.security.AuthUserDetails;
 import com.usermanagement.api.security.JwtUtil;
+import com.usermanagement.api.security.LoginAttemptTracker;
+import com.usermanagement.api.security.UserPrincipal;
+import com.usermanagement.api.security.VerifiedToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Authentication service for user registration, login, and token management.
@@ -32,24 +55,46 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordUpgradeService passwordUpgradeService;
+    private final AuthAuditService authAuditService;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${auth.validate-batch.max-size:500}")
+    private int validateBatchMaxSize;
+
+    @Value("${auth.validate-batch.parallel-threshold:64}")
+    private int validateBatchParallelThreshold;
+
+    @Value("${auth.validate-batch.parallelism:0}")
+    private int validateBatchParallelism;
+
+    /** Verifies large batches without competing with other parallel streams in the common pool */
+    private ForkJoinPool validationPool;
+
+    @PostConstruct
+    void startValidationPool() {
+        int parallelism = validateBatchParallelism > 0
+                ? validateBatchParallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        validationPool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    void stopValidationPool() {
+        validationPool.shutdown();
+    }
 
     /**
-     * Register a new user
+     * Register a new user.
+     *
+     * The password is hashed before the transaction starts, so waiting for a
+     * hashing thread never holds a database connection.
      */
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         log.info("Registration attempt for username: {} and email: {}", request.getUsername(), request.getEmail());
 
-        // Check if username already exists
-        if (authUserRepository.existsByUsername(request.getUsername())) {
-            throw new DuplicateResourceException("Username already in use: " + request.getUsername());
-        }
-
-        // Check if email already exists
-        if (authUserRepository.existsByEmail(request.getEmail())) {
-            throw new DuplicateResourceException("Email already in use: " + request.getEmail());
-        }
-
         // Create new user
         AuthUser user = new AuthUser();
         user.setUsername(request.getUsername());
@@ -61,86 +106,128 @@ public class AuthService {
         user.setAccountNonLocked(true);
         user.setCredentialsNonExpired(true);
 
-        AuthUser savedUser = authUserRepository.save(user);
-        log.info("User registered successfully: {} (ID: {})", savedUser.getUsername(), savedUser.getId());
+        // Insert directly; the unique keys on username and email reject duplicates.
+        // The user and its first refresh token are written in one short transaction.
+        AuthResponse response;
+        try {
+            response = transactionTemplate.execute(status -> {
+                AuthUser savedUser = authUserRepository.saveAndFlush(user);
 
-        // Generate tokens
-        String accessToken = jwtUtil.generateToken(savedUser);
-        String refreshToken = jwtUtil.generateRefreshToken(savedUser);
+                // Generate tokens
+                String accessToken = jwtUtil.generateToken(savedUser);
+                String refreshToken = jwtUtil.generateRefreshToken(savedUser);
+                refreshTokenService.store(refreshToken, savedUser.getId(), refreshTokenService.newFamily());
 
-        return new AuthResponse(
-                accessToken,
-                refreshToken,
-                86400L, // 24 hours
-                new AuthResponse.UserInfo(
-                        savedUser.getUsername(),
-                        savedUser.getEmail(),
-                        savedUser.getRole().name()
-                )
-        );
+                return new AuthResponse(
+                        accessToken,
+                        refreshToken,
+                        jwtUtil.getExpirationInSeconds(),
+                        new AuthResponse.UserInfo(
+                                savedUser.getUsername(),
+                                savedUser.getEmail(),
+                                savedUser.getRole().name()
+                        )
+                );
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraint.from(e)
+                    .map(constraint -> constraint.duplicate(
+                            constraint == UniqueConstraint.AUTH_USERS_USERNAME ? request.getUsername() : request.getEmail()))
+                    .orElseThrow(() -> e);
+        }
+        log.info("User registered successfully: {} (ID: {})", user.getUsername(), user.getId());
+        authAuditService.publish(AuthAuditService.EventType.REGISTER, user.getUsername(), user.getId());
+        return response;
     }
 
     /**
-     * Authenticate a user
+     * Authenticate a user.
+     *
+     * Not transactional: the user lookup, the wait for a hashing thread and
+     * the password check hold no connection, and the refresh token is
+     * stored in its own short transaction.
      */
-    @Transactional(readOnly = true)
     public AuthResponse login(LoginRequest request) {
         log.info("Login attempt for: {}", request.getUsernameOrEmail());
 
         // Authenticate user
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsernameOrEmail(),
-                        request.getPassword()
-                )
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getUsernameOrEmail(),
+                            request.getPassword()
+                    )
+            );
+        } catch (AuthenticationException e) {
+            authAuditService.publish(AuthAuditService.EventType.LOGIN_FAILURE, request.getUsernameOrEmail(), null);
+            throw e;
+        }
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        AuthUser user = (AuthUser) userDetails;
+        AuthUserDetails user = (AuthUserDetails) authentication.getPrincipal();
 
-        log.info("Login successful for: {} (ID: {})", user.getUsername(), user.getId());
+        log.info("Login successful for: {} (ID: {})", user.username(), user.id());
+        authAuditService.publish(AuthAuditService.EventType.LOGIN_SUCCESS, user.username(), user.id());
+        loginAttemptTracker.recordSuccess(user.id());
+
+        passwordUpgradeService.upgradeIfNeeded(user.id(), user.password(), request.getPassword());
 
         // Generate tokens
-        String accessToken = jwtUtil.generateToken(userDetails);
-        String refreshToken = jwtUtil.generateRefreshToken(userDetails);
+        String accessToken = jwtUtil.generateToken(user);
+        String refreshToken = jwtUtil.generateRefreshToken(user);
+        refreshTokenService.store(refreshToken, user.id(), refreshTokenService.newFamily());
 
         return new AuthResponse(
                 accessToken,
                 refreshToken,
-                86400L, // 24 hours
+                jwtUtil.getExpirationInSeconds(),
                 new AuthResponse.UserInfo(
-                        user.getUsername(),
-                        user.getEmail(),
-                        user.getRole().name()
+                        user.username(),
+                        user.email(),
+                        user.role().name()
                 )
         );
     }
 
     /**
-     * Refresh access token
+     * Refresh access token. Each refresh token can be exchanged once; the new
+     * refresh token joins the same family.
      */
-    @Transactional(readOnly = true)
+    @Transactional(noRollbackFor = BadCredentialsException.class)
     public AuthResponse refreshToken(String refreshToken) {
         log.info("Token refresh attempt");
 
-        if (!jwtUtil.validateToken(refreshToken)) {
-            throw new RuntimeException("Invalid or expired refresh token");
+        try {
+            return rotateRefreshToken(refreshToken);
+        } catch (BadCredentialsException e) {
+            authAuditService.publish(AuthAuditService.EventType.REFRESH_FAILURE, null, null);
+            throw e;
         }
+    }
 
-        String username = jwtUtil.extractUsername(refreshToken);
-        AuthUser user = authUserRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+    private AuthResponse rotateRefreshToken(String refreshToken) {
+        VerifiedToken verifiedToken = jwtUtil.verifyToken(refreshToken)
+                .filter(VerifiedToken::isRefreshToken)
+                .orElseThrow(() -> new BadCredentialsException("Invalid or expired refresh token"));
+
+        RefreshToken consumed = refreshTokenService.rotate(refreshToken);
+
+        AuthUser user = authUserRepository.findById(consumed.getAuthUserId())
+                .filter(found -> found.getUsername().equals(verifiedToken.subject()))
+                .orElseThrow(() -> new BadCredentialsException("Invalid or expired refresh token"));
 
         // Generate new tokens
         String newAccessToken = jwtUtil.generateToken(user);
         String newRefreshToken = jwtUtil.generateRefreshToken(user);
+        refreshTokenService.store(newRefreshToken, user.getId(), consumed.getFamilyId());
 
         log.info("Tokens refreshed successfully for: {} (ID: {})", user.getUsername(), user.getId());
+        authAuditService.publish(AuthAuditService.EventType.REFRESH, user.getUsername(), user.getId());
 
         return new AuthResponse(
                 newAccessToken,
                 newRefreshToken,
-                86400L, // 24 hours
+                jwtUtil.getExpirationInSeconds(),
                 new AuthResponse.UserInfo(
                         user.getUsername(),
                         user.getEmail(),
@@ -149,6 +236,29 @@ public class AuthService {
         );
     }
 
+    /**
+     * Revoke the given access token and, if provided, the refresh token
+     *
+     * @return true if at least one token was revoked
+     */
+    @Transactional
+    public boolean logout(String accessToken, String refreshToken) {
+        boolean revoked = jwtUtil.revokeToken(accessToken);
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            revoked |= jwtUtil.revokeToken(refreshToken);
+            revoked |= refreshTokenService.revoke(refreshToken);
+        }
+        log.info("Logout processed, tokens revoked: {}", revoked);
+        return revoked;
+    }
+
+    /**
+     * Public signing keys for local token verification by other services
+     */
+    public Map<String, Object> getJwks() {
+        return jwtUtil.getJwks();
+    }
+
     /**
      * Validate if a token is valid
      */
@@ -156,12 +266,66 @@ public class AuthService {
         return jwtUtil.validateToken(token);
     }
 
+    /**
+     * Validate several tokens at once. Duplicates are verified once, and
+     * large batches are verified in parallel; results keep the request order.
+     */
+    public List<TokenValidationResponse> validateTokens(List<String> tokens) {
+        if (tokens.size() > validateBatchMaxSize) {
+            throw new IllegalArgumentException("At most " + validateBatchMaxSize + " tokens can be validated at once");
+        }
+
+        LinkedHashSet<String> distinct = new LinkedHashSet<>(tokens);
+        distinct.remove(null);
+        // A parallel stream started inside the pool runs on the pool's threads
+        Map<String, TokenValidationResponse> results = distinct.size() >= validateBatchParallelThreshold
+                ? validationPool.submit(() -> verifyAll(distinct.parallelStream())).join()
+                : verifyAll(distinct.stream());
+
+        return tokens.stream()
+                .map(token -> token == null ? TokenValidationResponse.invalid() : results.get(token))
+                .toList();
+    }
+
+    private Map<String, TokenValidationResponse> verifyAll(Stream<String> tokens) {
+        return tokens.collect(Collectors.toConcurrentMap(Function.identity(), this::validation));
+    }
+
+    private TokenValidationResponse validation(String token) {
+        return jwtUtil.verifyToken(token)
+                .map(verified -> new TokenValidationResponse(
+                        true,
+                        verified.subject(),
+                        verified.role(),
+                        verified.expiration()
+                ))
+                .orElseGet(TokenValidationResponse::invalid);
+    }
+
+    /**
+     * Load the auth user entity of the currently authenticated principal.
+     *
+     * The security context only holds a {@link UserPrincipal}; handlers that
+     * need the full entity load it here, inside a transaction.
+     */
+    @Transactional(readOnly = true)
+    public AuthUser getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new AuthenticationCredentialsNotFoundException("No authenticated user");
+        }
+        return authUserRepository.findById(principal.id())
+                .orElseThrow(() -> new ResourceNotFoundException("AuthUser", principal.id()));
+    }
+
     /**
      * Extract user information from token
      */
     @Transactional(readOnly = true)
     public AuthUser getUserFromToken(String token) {
-        String username = jwtUtil.extractUsername(token);
+        VerifiedToken verifiedToken = jwtUtil.verifyToken(token)
+                .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
+        String username = verifiedToken.subject();
         return authUserRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
     }
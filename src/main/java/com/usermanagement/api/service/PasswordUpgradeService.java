@@ -0,0 +1,89 @@
+package com.usermanagement.api.service;
+
+import com.usermanagement.api.repository.AuthUserRepository;
+import com.usermanagement.api.security.PrincipalCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rehashes stored passwords to the current encoder parameters after a
+ * successful login, off the request path.
+ *
+ * The new hash is written with a conditional update, so a password changed
+ * in the meantime is never overwritten. Upgrades that do not fit in the
+ * queue are dropped and retried on the next login.
+ */
+@Service
+@Slf4j
+public class PasswordUpgradeService implements DisposableBean {
+
+    private final AuthUserRepository authUserRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final boolean enabled;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordUpgradeService(
+            AuthUserRepository authUserRepository,
+            PasswordEncoder passwordEncoder,
+            PrincipalCache principalCache,
+            @Value("${auth.password-hashing.rehash-on-login:true}") boolean enabled,
+            @Value("${auth.password-hashing.rehash-queue-capacity:100}") int queueCapacity
+    ) {
+        this.authUserRepository = authUserRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.enabled = enabled;
+        this.executor = new ThreadPoolExecutor(
+                1, 1,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-upgrade");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Schedule a rehash if the stored hash uses outdated parameters
+     */
+    public void upgradeIfNeeded(Long userId, String encodedPassword, String rawPassword) {
+        if (!enabled || encodedPassword == null || !passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return;
+        }
+        try {
+            executor.execute(() -> upgrade(userId, encodedPassword, rawPassword));
+        } catch (RejectedExecutionException e) {
+            log.debug("Password upgrade queue full, skipping user ID: {}", userId);
+        }
+    }
+
+    private void upgrade(Long userId, String encodedPassword, String rawPassword) {
+        try {
+            String upgraded = passwordEncoder.encode(rawPassword);
+            if (authUserRepository.updatePasswordIfUnchanged(userId, encodedPassword, upgraded) > 0) {
+                // Bulk update bypasses the entity listener
+                principalCache.evict(userId);
+                log.info("Password hash upgraded for user ID: {}", userId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not upgrade password hash for user ID {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,127 @@
+package com.usermanagement.api.service;
+
+import com.usermanagement.api.model.RefreshToken;
+import com.usermanagement.api.repository.RefreshTokenRepository;
+import com.usermanagement.api.util.TokenHashing;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Refresh token store with one-time rotation and reuse detection.
+ *
+ * Only the SHA-256 hash of each token is stored. A token can be exchanged
+ * once; presenting it again revokes every token of its family, since either
+ * the legitimate client or an attacker holds a stolen copy.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh-expiration:604800000}") // 7 days in milliseconds
+    private Long refreshExpiration;
+
+    @Value("${auth.refresh-tokens.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    @Value("${auth.refresh-tokens.purge-max-batches:100}")
+    private int purgeMaxBatches;
+
+    /**
+     * Start a new token family for a fresh login
+     */
+    public String newFamily() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Store a newly issued refresh token
+     */
+    @Transactional
+    public void store(String token, Long authUserId, String familyId) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(TokenHashing.sha256Hex(token));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setAuthUserId(authUserId);
+        refreshToken.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpiration)));
+        refreshToken.setRevoked(false);
+        refreshTokenRepository.save(refreshToken);
+    }
+
+    /**
+     * Consume a refresh token so it cannot be exchanged again
+     *
+     * @return the consumed token row, whose family the new token joins
+     * @throws BadCredentialsException if the token is unknown, expired,
+     *         revoked or was already used
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public RefreshToken rotate(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(TokenHashing.sha256Hex(token))
+                .orElseThrow(() -> new BadCredentialsException("Invalid or expired refresh token"));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (Boolean.TRUE.equals(refreshToken.getRevoked()) || !refreshToken.getExpiresAt().isAfter(now)) {
+            throw new BadCredentialsException("Invalid or expired refresh token");
+        }
+
+        if (refreshTokenRepository.markUsed(refreshToken.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(refreshToken.getFamilyId());
+            log.warn("Refresh token reuse detected for user ID: {}, revoked {} tokens of family {}",
+                     refreshToken.getAuthUserId(), revoked, refreshToken.getFamilyId());
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+        return refreshToken;
+    }
+
+    /**
+     * Revoke the family of a refresh token, e.g. on logout
+     *
+     * @return true if the token was found
+     */
+    @Transactional
+    public boolean revoke(String token) {
+        return refreshTokenRepository.findByTokenHash(TokenHashing.sha256Hex(token))
+                .map(refreshToken -> {
+                    refreshTokenRepository.revokeFamily(refreshToken.getFamilyId());
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Delete expired tokens in bounded batches, each in its own transaction,
+     * so the sweep never holds long locks on the table
+     */
+    @Scheduled(fixedDelayString = "${auth.refresh-tokens.purge-interval:300000}",
+               initialDelayString = "${auth.refresh-tokens.purge-interval:300000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        try {
+            for (int batch = 0; batch < purgeMaxBatches; batch++) {
+                int deleted = refreshTokenRepository.deleteExpired(now, purgeBatchSize);
+                total += deleted;
+                if (deleted < purgeBatchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not purge expired refresh tokens: {}", e.getMessage());
+        }
+        if (total > 0) {
+            log.info("Purged {} expired refresh tokens", total);
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package com.usermanagement.api.service;
 
+import com.usermanagement.api.dto.response.CursorPage;
 import com.usermanagement.api.model.SubscriptionType;
 import com.usermanagement.api.repository.SubscriptionTypeRepository;
+import com.usermanagement.api.repository.TableStatisticsRepository;
+import com.usermanagement.api.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -21,7 +31,39 @@ import java.util.Optional;
 @Slf4j
 public class SubscriptionTypeService {
 
+    /** Properties that listings can be sorted by, with their types */
+    private static final Map<String, Class<?>> SORT_KEYS = Map.of(
+            "id", Long.class,
+            "name", String.class,
+            "price", BigDecimal.class
+    );
+
     private final SubscriptionTypeRepository subscriptionTypeRepository;
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    @Value("${pagination.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    /**
+     * One page of subscription types in keyset order
+     *
+     * @param cursor Cursor of the previous page, or null for the first page
+     * @param includeCount Whether to add the estimated total
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<SubscriptionType> findPage(String cursor, Integer size, String sort, boolean includeCount) {
+        Sort order = KeysetCursor.parseSort(sort, SORT_KEYS);
+        ScrollPosition position = KeysetCursor.decode(cursor, order, SORT_KEYS);
+        int limit = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        log.debug("Finding subscription types page of {} sorted by {}", limit, order);
+
+        Window<SubscriptionType> window = subscriptionTypeRepository.findBy(position, order, Limit.of(limit));
+        Long estimatedTotal = includeCount ? tableStatisticsRepository.estimatedRowCount("subscriptions_type").orElse(null) : null;
+        return CursorPage.of(window, order, estimatedTotal);
+    }
 
     @Transactional(readOnly = true)
     public List<SubscriptionType> findAll() {
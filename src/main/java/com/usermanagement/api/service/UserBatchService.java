@@ -0,0 +1,491 @@
+package com.usermanagement.api.service;
+
+import com.usermanagement.api.dto.request.UserBatchRequest;
+import com.usermanagement.api.dto.response.UserBatchResult;
+import com.usermanagement.api.exception.UniqueConstraint;
+import com.usermanagement.api.model.User;
+import com.usermanagement.api.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.BatchUpdateException;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Batch create, update and delete of users.
+ *
+ * Operations are processed in chunks. For each chunk the rows targeted by
+ * updates and deletes are loaded with one IN query, then deletes, updates
+ * and creates are each sent as one JDBC batch (in that order, so a value
+ * freed by one operation can be reused by another in the same chunk).
+ * Updates only change the fields present in the request.
+ *
+ * In ALL_OR_NOTHING mode every chunk runs in one transaction, which is
+ * rolled back on the first failure. In BEST_EFFORT mode each chunk is
+ * committed on its own; when a chunk is rejected by the database, its
+ * operations are retried one by one to report which ones failed.
+ */
+@Service
+@Slf4j
+public class UserBatchService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (name, email, phone, cpf, dt_subscription, dt_expiration, user_type_id, subscriptions_type_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE users SET name = ?, email = ?, phone = ?, cpf = ?, dt_subscription = ?, dt_expiration = ?, " +
+            "user_type_id = ?, subscriptions_type_id = ? WHERE users_id = ?";
+    private static final String DELETE_SQL = "DELETE FROM users WHERE users_id = ?";
+
+    /** Column values of a user row to insert or update */
+    private record Row(String name, String email, String phone, String cpf, LocalDate dtSubscription,
+                       LocalDate dtExpiration, Long userTypeId, Long subscriptionTypeId) {
+    }
+
+    /** Operation that passed validation and the existence check, ready to be written */
+    private record Write(int index, UserBatchRequest.Operation op, Long id, Row row) {
+    }
+
+    /** Writes of a chunk rejected by the database; failed is null if the operation is unknown */
+    private static final class WriteRejectedException extends RuntimeException {
+
+        private final transient List<Write> writes;
+        private final transient Write failed;
+
+        WriteRejectedException(List<Write> writes, Write failed, DataIntegrityViolationException cause) {
+            super(cause.getMessage(), cause);
+            this.writes = writes;
+            this.failed = failed;
+        }
+
+        DataIntegrityViolationException violation() {
+            return (DataIntegrityViolationException) getCause();
+        }
+    }
+
+    /** Rolls back an all-or-nothing batch once a chunk has failed operations */
+    private static final class BatchAbortedException extends RuntimeException {
+        BatchAbortedException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${batch.max-operations:10000}")
+    private int maxOperations;
+
+    @Value("${batch.default-mode:BEST_EFFORT}")
+    private UserBatchRequest.Mode defaultMode;
+
+    public UserBatchService(JdbcTemplate jdbcTemplate, UserRepository userRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Apply a batch of operations and report the outcome of each one
+     */
+    public UserBatchResult execute(UserBatchRequest request) {
+        long startedAt = System.nanoTime();
+        List<UserBatchRequest.Item> items = request.getOperations();
+        if (items.size() > maxOperations) {
+            throw new IllegalArgumentException("Batch exceeds the maximum of " + maxOperations + " operations");
+        }
+        UserBatchRequest.Mode mode = request.getMode() != null ? request.getMode() : defaultMode;
+
+        UserBatchResult.ItemResult[] results = new UserBatchResult.ItemResult[items.size()];
+        Map<Long, Integer> targetedIds = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            String error = validate(items.get(i), i, targetedIds);
+            if (error != null) {
+                results[i] = failed(i, items.get(i), error);
+            }
+        }
+
+        int step = Math.max(1, chunkSize);
+        if (mode == UserBatchRequest.Mode.ALL_OR_NOTHING) {
+            if (!hasFailures(results)) {
+                applyAllOrNothing(items, results, step);
+            }
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    results[i] = result(i, items.get(i).getOp(), items.get(i).getId(), UserBatchResult.Status.NOT_APPLIED,
+                                        "Not applied because another operation failed");
+                }
+            }
+        } else {
+            for (int from = 0; from < items.size(); from += step) {
+                applyBestEffort(items, results, from, Math.min(items.size(), from + step));
+            }
+        }
+
+        int succeeded = 0;
+        int failed = 0;
+        for (UserBatchResult.ItemResult result : results) {
+            switch (result.getStatus()) {
+                case FAILED -> failed++;
+                case NOT_APPLIED -> { }
+                default -> succeeded++;
+            }
+        }
+        long durationMs = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("User batch ({}) finished: {} operations, {} succeeded, {} failed in {} ms",
+                 mode, items.size(), succeeded, failed, durationMs);
+        return new UserBatchResult(mode, items.size(), succeeded, failed, durationMs, List.of(results));
+    }
+
+    /**
+     * Every chunk in one transaction; the first failure rolls back all of them
+     */
+    private void applyAllOrNothing(List<UserBatchRequest.Item> items, UserBatchResult.ItemResult[] results, int step) {
+        List<Write> applied = new ArrayList<>(items.size());
+        Map<Write, Long> generatedIds = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < items.size(); from += step) {
+                    List<Write> writes = plan(items, results, from, Math.min(items.size(), from + step));
+                    if (hasFailures(results)) {
+                        throw new BatchAbortedException();
+                    }
+                    generatedIds.putAll(write(writes));
+                    applied.addAll(writes);
+                }
+            });
+        } catch (BatchAbortedException e) {
+            log.debug("User batch rolled back: operations not found");
+            return;
+        } catch (WriteRejectedException e) {
+            log.debug("User batch rolled back: {}", e.getMessage());
+            for (Write write : blame(e)) {
+                results[write.index()] = result(write.index(), write.op(), write.id(), UserBatchResult.Status.FAILED,
+                                                rejectionMessage(e.violation(), write));
+            }
+            return;
+        }
+        applied.forEach(write -> results[write.index()] = succeeded(write, generatedIds.get(write)));
+    }
+
+    /**
+     * One chunk in its own transaction, retried one operation at a time if rejected
+     */
+    private void applyBestEffort(List<UserBatchRequest.Item> items, UserBatchResult.ItemResult[] results,
+                                 int from, int to) {
+        List<Write> planned = new ArrayList<>();
+        try {
+            Map<Write, Long> generatedIds = transactionTemplate.execute(status -> {
+                planned.addAll(plan(items, results, from, to));
+                return write(planned);
+            });
+            planned.forEach(write -> results[write.index()] = succeeded(write, generatedIds.get(write)));
+        } catch (WriteRejectedException e) {
+            log.debug("Chunk of {} operations rejected, retrying one by one: {}", planned.size(), e.getMessage());
+            for (Write write : planned) {
+                try {
+                    Map<Write, Long> generatedIds = transactionTemplate.execute(status -> write(List.of(write)));
+                    results[write.index()] = succeeded(write, generatedIds.get(write));
+                } catch (WriteRejectedException rowError) {
+                    results[write.index()] = result(write.index(), write.op(), write.id(), UserBatchResult.Status.FAILED,
+                                                    rejectionMessage(rowError.violation(), write));
+                }
+            }
+        }
+    }
+
+    /**
+     * Load the targeted rows of a chunk with one query and turn its valid
+     * operations into writes; operations on missing rows are marked failed
+     */
+    private List<Write> plan(List<UserBatchRequest.Item> items, UserBatchResult.ItemResult[] results, int from, int to) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (results[i] == null && items.get(i).getOp() != UserBatchRequest.Operation.CREATE) {
+                ids.add(items.get(i).getId());
+            }
+        }
+        Map<Long, User> existing = ids.isEmpty()
+                ? Map.of()
+                : userRepository.findAllById(ids).stream().collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Write> writes = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            UserBatchRequest.Item item = items.get(i);
+            switch (item.getOp()) {
+                case CREATE -> writes.add(new Write(i, item.getOp(), null, merge(null, item.getUser())));
+                case UPDATE, DELETE -> {
+                    User current = existing.get(item.getId());
+                    if (current == null) {
+                        results[i] = failed(i, item, "User not found with id: " + item.getId());
+                    } else {
+                        Row row = item.getOp() == UserBatchRequest.Operation.UPDATE ? merge(current, item.getUser()) : null;
+                        writes.add(new Write(i, item.getOp(), item.getId(), row));
+                    }
+                }
+            }
+        }
+        return writes;
+    }
+
+    /**
+     * Send the writes as one JDBC batch per operation type
+     *
+     * @return Generated IDs of the created users
+     */
+    private Map<Write, Long> write(List<Write> writes) {
+        List<Write> deletes = new ArrayList<>();
+        List<Write> updates = new ArrayList<>();
+        List<Write> creates = new ArrayList<>();
+        for (Write write : writes) {
+            switch (write.op()) {
+                case DELETE -> deletes.add(write);
+                case UPDATE -> updates.add(write);
+                case CREATE -> creates.add(write);
+            }
+        }
+
+        if (!deletes.isEmpty()) {
+            batch(deletes, () -> jdbcTemplate.batchUpdate(DELETE_SQL, setter(deletes, (ps, write) -> ps.setLong(1, write.id()))));
+        }
+        if (!updates.isEmpty()) {
+            batch(updates, () -> jdbcTemplate.batchUpdate(UPDATE_SQL, setter(updates, (ps, write) -> {
+                int index = bind(ps, write.row());
+                ps.setLong(index, write.id());
+            })));
+        }
+        Map<Write, Long> generatedIds = new HashMap<>();
+        if (!creates.isEmpty()) {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            batch(creates, () -> jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                    setter(creates, (ps, write) -> bind(ps, write.row())),
+                    keyHolder));
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < creates.size() && i < keys.size(); i++) {
+                Object key = keys.get(i).values().stream().findFirst().orElse(null);
+                generatedIds.put(creates.get(i), key instanceof Number number ? number.longValue() : null);
+            }
+        }
+        return generatedIds;
+    }
+
+    private interface WriteBinder {
+        void bind(PreparedStatement ps, Write write) throws SQLException;
+    }
+
+    private static BatchPreparedStatementSetter setter(List<Write> writes, WriteBinder binder) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                binder.bind(ps, writes.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return writes.size();
+            }
+        };
+    }
+
+    /**
+     * Run one JDBC batch, finding the rejected write from the driver's update counts when it reports them
+     */
+    private static void batch(List<Write> writes, Runnable statement) {
+        try {
+            statement.run();
+        } catch (DataIntegrityViolationException e) {
+            Write failed = null;
+            if (e.getMostSpecificCause() instanceof BatchUpdateException batchError) {
+                int[] counts = batchError.getUpdateCounts();
+                int position = counts.length;
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == Statement.EXECUTE_FAILED) {
+                        position = i;
+                        break;
+                    }
+                }
+                // Drivers that rewrite the batch into one statement report every count as failed
+                if (position < writes.size() && (writes.size() == 1 || !allFailed(counts))) {
+                    failed = writes.get(position);
+                }
+            }
+            throw new WriteRejectedException(writes, failed, e);
+        }
+    }
+
+    private static boolean allFailed(int[] counts) {
+        for (int count : counts) {
+            if (count != Statement.EXECUTE_FAILED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes to report as failed for a rejected batch: the one the driver or the
+     * duplicated value points to, otherwise every write of the rejected statement
+     */
+    private static List<Write> blame(WriteRejectedException e) {
+        if (e.failed != null) {
+            return List.of(e.failed);
+        }
+        String duplicate = UniqueConstraint.duplicateValueOf(e.violation()).orElse(null);
+        if (duplicate != null) {
+            List<Write> matching = e.writes.stream()
+                    .filter(write -> write.row() != null && (duplicate.equals(write.row().email()) ||
+                                                             duplicate.equals(write.row().cpf()) ||
+                                                             duplicate.equals(write.row().phone())))
+                    .toList();
+            if (!matching.isEmpty()) {
+                return matching;
+            }
+        }
+        return e.writes;
+    }
+
+    private static int bind(PreparedStatement ps, Row row) throws SQLException {
+        int index = 1;
+        ps.setString(index++, row.name());
+        ps.setString(index++, row.email());
+        ps.setString(index++, row.phone());
+        ps.setString(index++, row.cpf());
+        setNullableDate(ps, index++, row.dtSubscription());
+        setNullableDate(ps, index++, row.dtExpiration());
+        setNullableLong(ps, index++, row.userTypeId());
+        setNullableLong(ps, index++, row.subscriptionTypeId());
+        return index;
+    }
+
+    private static void setNullableDate(PreparedStatement ps, int index, LocalDate value) throws SQLException {
+        if (value != null) {
+            ps.setDate(index, Date.valueOf(value));
+        } else {
+            ps.setNull(index, Types.DATE);
+        }
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+
+    /**
+     * Row values of the current user overridden by the non-null fields of the request
+     */
+    private static Row merge(User current, User changes) {
+        return new Row(
+                pick(changes.getName(), current, User::getName),
+                pick(changes.getEmail(), current, User::getEmail),
+                pick(changes.getPhone(), current, User::getPhone),
+                pick(changes.getCpf(), current, User::getCpf),
+                pick(changes.getDtSubscription(), current, User::getDtSubscription),
+                pick(changes.getDtExpiration(), current, User::getDtExpiration),
+                pick(changes.getUserType() != null ? changes.getUserType().getId() : null, current,
+                     user -> user.getUserType() != null ? user.getUserType().getId() : null),
+                pick(changes.getSubscriptionType() != null ? changes.getSubscriptionType().getId() : null, current,
+                     user -> user.getSubscriptionType() != null ? user.getSubscriptionType().getId() : null)
+        );
+    }
+
+    private static <T> T pick(T change, User current, Function<User, T> getter) {
+        return change != null || current == null ? change : getter.apply(current);
+    }
+
+    /**
+     * Request-level checks that need no database access
+     */
+    private static String validate(UserBatchRequest.Item item, int index, Map<Long, Integer> targetedIds) {
+        switch (item.getOp()) {
+            case CREATE -> {
+                if (item.getUser() == null) {
+                    return "user: is required for CREATE";
+                }
+                if (item.getId() != null) {
+                    return "id: must not be set for CREATE";
+                }
+                return null;
+            }
+            case UPDATE, DELETE -> {
+                if (item.getId() == null) {
+                    return "id: is required for " + item.getOp();
+                }
+                if (item.getOp() == UserBatchRequest.Operation.UPDATE && item.getUser() == null) {
+                    return "user: is required for UPDATE";
+                }
+                Integer previous = targetedIds.putIfAbsent(item.getId(), index);
+                return previous == null ? null : "id: already targeted by operation " + previous;
+            }
+            default -> throw new IllegalStateException("Unexpected operation: " + item.getOp());
+        }
+    }
+
+    private static String rejectionMessage(DataIntegrityViolationException e, Write write) {
+        return UniqueConstraint.from(e)
+                .filter(constraint -> write.row() != null)
+                .map(constraint -> constraint.duplicate(switch (constraint) {
+                    case USERS_CPF -> write.row().cpf();
+                    case USERS_PHONE -> write.row().phone();
+                    default -> write.row().email();
+                }).getMessage())
+                .orElseGet(() -> "Rejected by the database: " + e.getMostSpecificCause().getMessage());
+    }
+
+    private static boolean hasFailures(UserBatchResult.ItemResult[] results) {
+        for (UserBatchResult.ItemResult result : results) {
+            if (result != null && result.getStatus() == UserBatchResult.Status.FAILED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static UserBatchResult.ItemResult succeeded(Write write, Long generatedId) {
+        UserBatchResult.Status status = switch (write.op()) {
+            case CREATE -> UserBatchResult.Status.CREATED;
+            case UPDATE -> UserBatchResult.Status.UPDATED;
+            case DELETE -> UserBatchResult.Status.DELETED;
+        };
+        return result(write.index(), write.op(), write.id() != null ? write.id() : generatedId, status, null);
+    }
+
+    private static UserBatchResult.ItemResult failed(int index, UserBatchRequest.Item item, String message) {
+        return result(index, item.getOp(), item.getId(), UserBatchResult.Status.FAILED, message);
+    }
+
+    private static UserBatchResult.ItemResult result(int index, UserBatchRequest.Operation op, Long id,
+                                                     UserBatchResult.Status status, String message) {
+        return new UserBatchResult.ItemResult(index, op, id, status, message);
+    }
+}
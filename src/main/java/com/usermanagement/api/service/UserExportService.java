@@ -0,0 +1,312 @@
+package com.usermanagement.api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the users table as NDJSON or CSV with constant memory.
+ *
+ * Rows are read with plain JDBC through a forward-only cursor in a read-only
+ * transaction and written to the response as they arrive; only the fetch
+ * buffer and one output chunk are held in memory. Exports use their own
+ * small connection pool, the only one with MySQL cursor fetch enabled. Rows are exported in ID
+ * order, so an interrupted export resumes with afterId set to the last ID
+ * received.
+ */
+@Service
+@Slf4j
+public class UserExportService implements DisposableBean {
+
+    private static final String EXPORT_SQL =
+            "SELECT users_id, name, email, phone, cpf, dt_subscription, dt_expiration, user_type_id, subscriptions_type_id " +
+            "FROM users WHERE users_id > ? ORDER BY users_id";
+    private static final String[] COLUMNS = {
+            "id", "name", "email", "phone", "cpf", "dtSubscription", "dtExpiration", "userTypeId", "subscriptionTypeId"
+    };
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String fileName(boolean gzip) {
+            return "users." + extension + (gzip ? ".gz" : "");
+        }
+
+        public static Format from(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value + "; supported: ndjson, csv");
+            }
+        }
+    }
+
+    private final HikariDataSource exportDataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    @Value("${export.progress-interval:100000}")
+    private long progressInterval;
+
+    public UserExportService(
+            DataSourceProperties dataSourceProperties,
+            ObjectMapper objectMapper,
+            @Value("${export.fetch-size:1000}") int fetchSize,
+            @Value("${export.max-connections:2}") int maxConnections
+    ) {
+        // Cursor fetch forces server-side prepared statements for every statement on a
+        // connection, so it is enabled only on this small pool, not on the application's
+        this.exportDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(withCursorFetch(dataSourceProperties.determineUrl()))
+                .build();
+        this.exportDataSource.setPoolName("export");
+        this.exportDataSource.setMaximumPoolSize(maxConnections);
+        this.exportDataSource.setMinimumIdle(0);
+
+        this.jdbcTemplate = new JdbcTemplate(exportDataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(exportDataSource));
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void destroy() {
+        exportDataSource.close();
+    }
+
+    /**
+     * Write every user with an ID greater than afterId to the output
+     *
+     * @return number of rows written
+     */
+    public long export(Format format, boolean gzip, Long afterId, OutputStream output) throws IOException {
+        long startId = afterId == null ? 0 : afterId;
+        long startedAt = System.nanoTime();
+        OutputStream target = gzip ? new GZIPOutputStream(output, CHUNK_SIZE) : output;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), CHUNK_SIZE);
+        RowWriter rowWriter = null;
+        try {
+            rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer, objectMapper);
+
+            RowWriter rows = rowWriter;
+            readOnlyTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.query(EXPORT_SQL, rs -> {
+                        rows.write(rs);
+                        if (rows.count() % progressInterval == 0) {
+                            logProgress("Export in progress", rows, startedAt);
+                        }
+                    }, startId));
+
+            rowWriter.close();
+            logProgress("Export finished", rowWriter, startedAt);
+            return rowWriter.count();
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; it can resume after the last ID it received
+            log.warn("Export interrupted after {} rows, last ID written: {}: {}",
+                     rowWriter != null ? rowWriter.count() : 0, rowWriter != null ? rowWriter.lastId() : startId,
+                     e.getCause().getMessage());
+            throw e.getCause();
+        } finally {
+            // Closing twice is a no-op; on failure this releases the native Deflater
+            closeQuietly(writer);
+            closeQuietly(target);
+        }
+    }
+
+    private static String withCursorFetch(String url) {
+        if (url == null || !url.startsWith("jdbc:mysql:") || url.contains("useCursorFetch=")) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + "useCursorFetch=true";
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.debug("Could not close export output: {}", e.getMessage());
+        }
+    }
+
+    private static void logProgress(String message, RowWriter rows, long startedAt) {
+        double seconds = Math.max(1e-9, (System.nanoTime() - startedAt) / 1e9);
+        log.info("{}: {} rows in {} s ({} rows/s), last ID: {}", message, rows.count(),
+                 String.format(Locale.ROOT, "%.1f", seconds), Math.round(rows.count() / seconds), rows.lastId());
+    }
+
+    /**
+     * Writes result set rows in one output format and tracks progress
+     */
+    private abstract static class RowWriter {
+
+        protected final Writer writer;
+        private long count;
+        private long lastId;
+
+        RowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        final void write(ResultSet rs) throws SQLException {
+            long id = rs.getLong("users_id");
+            try {
+                writeRow(rs, id);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count++;
+            lastId = id;
+        }
+
+        long count() {
+            return count;
+        }
+
+        long lastId() {
+            return lastId;
+        }
+
+        void close() throws IOException {
+            writer.close();
+        }
+
+        abstract void writeRow(ResultSet rs, long id) throws SQLException, IOException;
+
+        static String date(ResultSet rs, String column) throws SQLException {
+            Date date = rs.getDate(column);
+            return date != null ? date.toLocalDate().toString() : null;
+        }
+
+        static Long nullableLong(ResultSet rs, String column) throws SQLException {
+            long value = rs.getLong(column);
+            return rs.wasNull() ? null : value;
+        }
+    }
+
+    private static final class NdjsonRowWriter extends RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer, ObjectMapper objectMapper) throws IOException {
+            super(writer);
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Rows fill the writer's buffer; only closing the export flushes the response
+            this.generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            // Lines are separated explicitly, without the default space between root values
+            this.generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+        }
+
+        @Override
+        void writeRow(ResultSet rs, long id) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], id);
+            generator.writeStringField(COLUMNS[1], rs.getString("name"));
+            generator.writeStringField(COLUMNS[2], rs.getString("email"));
+            generator.writeStringField(COLUMNS[3], rs.getString("phone"));
+            generator.writeStringField(COLUMNS[4], rs.getString("cpf"));
+            generator.writeStringField(COLUMNS[5], date(rs, "dt_subscription"));
+            generator.writeStringField(COLUMNS[6], date(rs, "dt_expiration"));
+            writeNullableNumber(COLUMNS[7], nullableLong(rs, "user_type_id"));
+            writeNullableNumber(COLUMNS[8], nullableLong(rs, "subscriptions_type_id"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        private void writeNullableNumber(String field, Long value) throws IOException {
+            if (value != null) {
+                generator.writeNumberField(field, value);
+            } else {
+                generator.writeNullField(field);
+            }
+        }
+
+        @Override
+        void close() throws IOException {
+            generator.close();
+            super.close();
+        }
+    }
+
+    private static final class CsvRowWriter extends RowWriter {
+
+        CsvRowWriter(Writer writer) throws IOException {
+            super(writer);
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+
+        @Override
+        void writeRow(ResultSet rs, long id) throws SQLException, IOException {
+            writer.write(Long.toString(id));
+            field(rs.getString("name"));
+            field(rs.getString("email"));
+            field(rs.getString("phone"));
+            field(rs.getString("cpf"));
+            field(date(rs, "dt_subscription"));
+            field(date(rs, "dt_expiration"));
+            Long userTypeId = nullableLong(rs, "user_type_id");
+            field(userTypeId != null ? userTypeId.toString() : null);
+            Long subscriptionTypeId = nullableLong(rs, "subscriptions_type_id");
+            field(subscriptionTypeId != null ? subscriptionTypeId.toString() : null);
+            writer.write('\n');
+        }
+
+        /**
+         * Write a separator and an RFC 4180 field, quoted when needed
+         */
+        private void field(String value) throws IOException {
+            writer.write(',');
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
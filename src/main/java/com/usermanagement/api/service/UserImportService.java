@@ -0,0 +1,445 @@
+package com.usermanagement.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.api.dto.response.ImportResult;
+import com.usermanagement.api.exception.UniqueConstraint;
+import com.usermanagement.api.util.CpfValidator;
+import com.usermanagement.api.util.CsvReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import of users from CSV or NDJSON.
+ *
+ * The input is processed as a stream in chunks: rows are parsed, validated
+ * in parallel (required fields, email and phone format, CPF checksum, user
+ * and subscription type references checked against IDs loaded once into
+ * memory), and the valid rows of a chunk are written with one multi-row
+ * INSERT in their own transaction, opened only once the chunk has been read.
+ * When a multi-row INSERT is rejected, typically by a duplicate email, CPF
+ * or phone, its rows are retried one by one to report which ones failed.
+ *
+ * Columns are the same as the export: name, email, phone, cpf,
+ * dtSubscription, dtExpiration, userTypeId, subscriptionTypeId (an id
+ * column is ignored).
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO users (name, email, phone, cpf, dt_subscription, dt_expiration, user_type_id, subscriptions_type_id) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMN_COUNT = 8;
+    /** Stays under the 65,535 placeholders MySQL allows per statement */
+    private static final int MAX_CHUNK_SIZE = 65_535 / COLUMN_COUNT;
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern PHONE = Pattern.compile("^\\+?[0-9 ()\\-]{10,20}$");
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        /**
+         * Format of a request body from its content type
+         */
+        public static Format fromContentType(String contentType) {
+            String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+            if (type.contains("csv")) {
+                return CSV;
+            }
+            if (type.contains("ndjson") || type.contains("json")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unsupported import content type: " + contentType +
+                                               "; use text/csv or application/x-ndjson");
+        }
+    }
+
+    private record ImportRow(long row, Map<String, String> fields) {
+    }
+
+    private record ValidRow(long row, String name, String email, String phone, String cpf,
+                            LocalDate dtSubscription, LocalDate dtExpiration, Long userTypeId, Long subscriptionTypeId) {
+    }
+
+    private record Validation(long row, ValidRow valid, List<String> errors) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public UserImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Import every row of the input, reporting rejected rows
+     */
+    public ImportResult importUsers(Format format, InputStream input) throws IOException {
+        long startedAt = System.nanoTime();
+        int rowsPerChunk = Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+        References references = loadReferences();
+        Progress progress = new Progress(maxReportedErrors);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RowSource source = format == Format.CSV ? new CsvRowSource(new CsvReader(reader)) : new NdjsonRowSource(reader, objectMapper);
+
+        try {
+            List<ImportRow> chunk;
+            while (!(chunk = source.nextChunk(rowsPerChunk, progress)).isEmpty()) {
+                List<Validation> validations = chunk.parallelStream()
+                        .map(row -> validate(row, references))
+                        .toList();
+
+                List<ValidRow> valid = new ArrayList<>(validations.size());
+                for (Validation validation : validations) {
+                    if (validation.valid() != null) {
+                        valid.add(validation.valid());
+                    } else {
+                        progress.reject(validation.row(), validation.errors());
+                    }
+                }
+
+                // The chunk is fully read and validated, so the transaction only lasts
+                // as long as its INSERT, however slowly the client uploads
+                if (!valid.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> insert(valid, progress));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Import aborted after {} rows; chunks committed before the failure stay imported",
+                     progress.processed);
+            throw e;
+        }
+
+        long durationMs = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        long rowsPerSecond = progress.processed * 1000 / durationMs;
+        log.info("Import finished: {} rows, {} imported, {} failed in {} ms ({} rows/s)",
+                 progress.processed, progress.imported, progress.failed, durationMs, rowsPerSecond);
+        return new ImportResult(progress.processed, progress.imported, progress.failed, durationMs, rowsPerSecond,
+                                progress.errors);
+    }
+
+    private ValidRow validateFields(ImportRow row, References references, List<String> errors) {
+        Map<String, String> fields = row.fields();
+        String name = required(fields, "name", errors);
+        String email = required(fields, "email", errors);
+        String phone = required(fields, "phone", errors);
+        String cpf = required(fields, "cpf", errors);
+        LocalDate dtSubscription = date(fields, "dtSubscription", errors);
+        LocalDate dtExpiration = date(fields, "dtExpiration", errors);
+        Long userTypeId = reference(fields, "userTypeId", references.userTypeIds(), errors);
+        Long subscriptionTypeId = reference(fields, "subscriptionTypeId", references.subscriptionTypeIds(), errors);
+
+        if (email != null && !EMAIL.matcher(email).matches()) {
+            errors.add("email: invalid format");
+        }
+        if (phone != null && !PHONE.matcher(phone).matches()) {
+            errors.add("phone: invalid format");
+        }
+        if (cpf != null && !CpfValidator.isValid(cpf)) {
+            errors.add("cpf: invalid number");
+        }
+        if (dtSubscription != null && dtExpiration != null && dtExpiration.isBefore(dtSubscription)) {
+            errors.add("dtExpiration: must not be before dtSubscription");
+        }
+
+        return errors.isEmpty()
+                ? new ValidRow(row.row(), name, email, phone, cpf, dtSubscription, dtExpiration, userTypeId, subscriptionTypeId)
+                : null;
+    }
+
+    private Validation validate(ImportRow row, References references) {
+        List<String> errors = new ArrayList<>(0);
+        ValidRow valid = validateFields(row, references, errors);
+        return new Validation(row.row(), valid, errors);
+    }
+
+    /**
+     * Insert rows with one statement, falling back to single rows to find the rejected ones
+     */
+    private void insert(List<ValidRow> rows, Progress progress) {
+        try {
+            jdbcTemplate.update(insertSql(rows.size()), ps -> {
+                int index = 1;
+                for (ValidRow row : rows) {
+                    index = bind(ps, index, row);
+                }
+            });
+            progress.imported += rows.size();
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Multi-row insert rejected, retrying {} rows one by one: {}", rows.size(), e.getMessage());
+            for (ValidRow row : rows) {
+                try {
+                    jdbcTemplate.update(insertSql(1), ps -> bind(ps, 1, row));
+                    progress.imported++;
+                } catch (DataIntegrityViolationException rowError) {
+                    progress.reject(row.row(), List.of(rejectionMessage(rowError, row)));
+                }
+            }
+        }
+    }
+
+    private static int bind(PreparedStatement ps, int index, ValidRow row) throws SQLException {
+        ps.setString(index++, row.name());
+        ps.setString(index++, row.email());
+        ps.setString(index++, row.phone());
+        ps.setString(index++, row.cpf());
+        ps.setDate(index++, Date.valueOf(row.dtSubscription()));
+        ps.setDate(index++, Date.valueOf(row.dtExpiration()));
+        setNullableLong(ps, index++, row.userTypeId());
+        setNullableLong(ps, index++, row.subscriptionTypeId());
+        return index;
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static String insertSql(int rows) {
+        return INSERT_PREFIX + String.join(", ", Collections.nCopies(rows, ROW_PLACEHOLDERS));
+    }
+
+    private static String rejectionMessage(DataIntegrityViolationException e, ValidRow row) {
+        return UniqueConstraint.from(e)
+                .map(constraint -> constraint.duplicate(switch (constraint) {
+                    case USERS_CPF -> row.cpf();
+                    case USERS_PHONE -> row.phone();
+                    default -> row.email();
+                }).getMessage())
+                .orElseGet(() -> "Rejected by the database: " + e.getMostSpecificCause().getMessage());
+    }
+
+    private References loadReferences() {
+        return new References(
+                new HashSet<>(jdbcTemplate.queryForList("SELECT user_type_id FROM user_type", Long.class)),
+                new HashSet<>(jdbcTemplate.queryForList("SELECT subscriptions_type_id FROM subscriptions_type", Long.class))
+        );
+    }
+
+    private static String required(Map<String, String> fields, String field, List<String> errors) {
+        String value = fields.get(field);
+        if (value == null || value.isBlank()) {
+            errors.add(field + ": is required");
+            return null;
+        }
+        return value.trim();
+    }
+
+    private static LocalDate date(Map<String, String> fields, String field, List<String> errors) {
+        String value = required(fields, field, errors);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            errors.add(field + ": expected yyyy-MM-dd");
+            return null;
+        }
+    }
+
+    private static Long reference(Map<String, String> fields, String field, Set<Long> known, List<String> errors) {
+        String value = fields.get(field);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            Long id = Long.valueOf(value.trim());
+            if (!known.contains(id)) {
+                errors.add(field + ": unknown ID " + id);
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            errors.add(field + ": must be a number");
+            return null;
+        }
+    }
+
+    private record References(Set<Long> userTypeIds, Set<Long> subscriptionTypeIds) {
+    }
+
+    /**
+     * Counters and the reported errors of one import
+     */
+    private static final class Progress {
+
+        private final int maxReportedErrors;
+        private final List<ImportResult.RowError> errors = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long failed;
+
+        Progress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void reject(long row, List<String> messages) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportResult.RowError(row, messages));
+            }
+        }
+    }
+
+    /**
+     * Reads input rows as field maps, one chunk at a time
+     */
+    private abstract static class RowSource {
+
+        private long rowNumber;
+
+        List<ImportRow> nextChunk(int size, Progress progress) throws IOException {
+            List<ImportRow> chunk = new ArrayList<>(size);
+            while (chunk.size() < size) {
+                Map<String, String> fields;
+                try {
+                    fields = nextFields();
+                } catch (RowFormatException e) {
+                    progress.processed++;
+                    progress.reject(++rowNumber, List.of(e.getMessage()));
+                    continue;
+                }
+                if (fields == null) {
+                    break;
+                }
+                progress.processed++;
+                chunk.add(new ImportRow(++rowNumber, fields));
+            }
+            return chunk;
+        }
+
+        /**
+         * Fields of the next non-blank row, or null at the end of the input
+         */
+        abstract Map<String, String> nextFields() throws IOException;
+    }
+
+    private static final class CsvRowSource extends RowSource {
+
+        private final CsvReader csvReader;
+        private List<String> header;
+
+        CsvRowSource(CsvReader csvReader) {
+            this.csvReader = csvReader;
+        }
+
+        @Override
+        Map<String, String> nextFields() throws IOException {
+            if (header == null) {
+                header = csvReader.next();
+                if (header == null) {
+                    return null;
+                }
+                header = header.stream().map(String::trim).toList();
+            }
+            List<String> values;
+            do {
+                values = csvReader.next();
+            } while (values != null && values.size() == 1 && values.get(0).isBlank());
+            if (values == null) {
+                return null;
+            }
+            if (values.size() != header.size()) {
+                throw new RowFormatException("Expected " + header.size() + " columns but found " + values.size());
+            }
+            Map<String, String> fields = new HashMap<>(header.size() * 2);
+            for (int i = 0; i < header.size(); i++) {
+                fields.put(header.get(i), values.get(i));
+            }
+            return fields;
+        }
+    }
+
+    private static final class NdjsonRowSource extends RowSource {
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+
+        NdjsonRowSource(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Map<String, String> nextFields() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (IOException e) {
+                throw new RowFormatException("Invalid JSON");
+            }
+            if (!node.isObject()) {
+                throw new RowFormatException("Expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            node.properties().forEach(field -> {
+                if (!field.getValue().isNull()) {
+                    fields.put(field.getKey(), field.getValue().asText());
+                }
+            });
+            return fields;
+        }
+    }
+
+    /**
+     * A row that cannot be read into fields; the import continues with the next row
+     */
+    private static final class RowFormatException extends RuntimeException {
+
+        RowFormatException(String message) {
+            super(message);
+        }
+    }
+}
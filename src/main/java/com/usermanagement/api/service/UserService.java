@@ -1,13 +1,25 @@
 package com.usermanagement.api.service;
 
+import com.usermanagement.api.dto.response.CursorPage;
+import com.usermanagement.api.exception.UniqueConstraint;
 import com.usermanagement.api.model.User;
+import com.usermanagement.api.repository.TableStatisticsRepository;
 import com.usermanagement.api.repository.UserRepository;
+import com.usermanagement.api.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -21,7 +33,41 @@ import java.util.Optional;
 @Slf4j
 public class UserService {
 
+    /** Properties that listings can be sorted by, with their types */
+    private static final Map<String, Class<?>> SORT_KEYS = Map.of(
+            "id", Long.class,
+            "name", String.class,
+            "email", String.class,
+            "dtSubscription", LocalDate.class,
+            "dtExpiration", LocalDate.class
+    );
+
     private final UserRepository userRepository;
+    private final TableStatisticsRepository tableStatisticsRepository;
+
+    @Value("${pagination.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    /**
+     * One page of users in keyset order
+     *
+     * @param cursor Cursor of the previous page, or null for the first page
+     * @param includeCount Whether to add the estimated total
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<User> findPage(String cursor, Integer size, String sort, boolean includeCount) {
+        Sort order = KeysetCursor.parseSort(sort, SORT_KEYS);
+        ScrollPosition position = KeysetCursor.decode(cursor, order, SORT_KEYS);
+        int limit = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        log.debug("Finding users page of {} sorted by {}", limit, order);
+
+        Window<User> window = userRepository.findBy(position, order, Limit.of(limit));
+        Long estimatedTotal = includeCount ? tableStatisticsRepository.estimatedRowCount("users").orElse(null) : null;
+        return CursorPage.of(window, order, estimatedTotal);
+    }
 
     @Transactional(readOnly = true)
     public List<User> findAll() {
@@ -56,7 +102,18 @@ public class UserService {
     @Transactional
     public User save(User user) {
         log.info("Saving user: {}", user.getName());
-        return userRepository.save(user);
+        // Flush so duplicate email, CPF or phone surface here as a DuplicateResourceException
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraint.from(e)
+                    .map(constraint -> constraint.duplicate(switch (constraint) {
+                        case USERS_CPF -> user.getCpf();
+                        case USERS_PHONE -> user.getPhone();
+                        default -> user.getEmail();
+                    }))
+                    .orElseThrow(() -> e);
+        }
     }
 
     @Transactional
@@ -0,0 +1,64 @@
+package com.usermanagement.api.util;
+
+/**
+ * Utility class for validating Brazilian CPF numbers.
+ *
+ * Accepts 11 digits with or without the usual punctuation
+ * (e.g. 123.456.789-09) and checks both verification digits.
+ */
+public final class CpfValidator {
+
+    private CpfValidator() {
+    }
+
+    /**
+     * Check if a CPF has 11 digits and valid verification digits
+     */
+    public static boolean isValid(String cpf) {
+        if (cpf == null) {
+            return false;
+        }
+
+        int[] digits = new int[11];
+        int count = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (count == 11) {
+                    return false;
+                }
+                digits[count++] = c - '0';
+            } else if (c != '.' && c != '-' && c != ' ') {
+                return false;
+            }
+        }
+        if (count != 11 || allEqual(digits)) {
+            return false;
+        }
+        return digits[9] == verificationDigit(digits, 9) && digits[10] == verificationDigit(digits, 10);
+    }
+
+    /**
+     * Verification digit over the first length digits, weighted from length + 1 down to 2
+     */
+    private static int verificationDigit(int[] digits, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += digits[i] * (length + 1 - i);
+        }
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+
+    /**
+     * Sequences such as 111.111.111-11 pass the checksum but are not valid
+     */
+    private static boolean allEqual(int[] digits) {
+        for (int digit : digits) {
+            if (digit != digits[0]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
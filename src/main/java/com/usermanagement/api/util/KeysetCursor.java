@@ -0,0 +1,123 @@
+package com.usermanagement.api.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Utility class for keyset pagination cursors.
+ *
+ * A cursor is the base64url-encoded sort and key values of the last row of a
+ * page. It is opaque to clients and only valid with the sort it was issued for.
+ * Every sort ends with the ID so that keys are unique.
+ */
+public final class KeysetCursor {
+
+    private static final String ID = "id";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<Map<String, String>> KEYS_TYPE = new TypeReference<>() {
+    };
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Parse a sort parameter such as "name,desc" against the supported sort keys
+     *
+     * @param sortKeys Supported properties and their types
+     */
+    public static Sort parseSort(String sort, Map<String, Class<?>> sortKeys) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by(ID);
+        }
+        String[] parts = sort.split(",", 2);
+        String property = parts[0].trim();
+        if (!sortKeys.containsKey(property)) {
+            throw new IllegalArgumentException("Unsupported sort key: " + property + "; supported: " + sortKeys.keySet());
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> new IllegalArgumentException("Invalid sort direction: " + parts[1]))
+                : Sort.Direction.ASC;
+
+        Sort parsed = Sort.by(direction, property);
+        return ID.equals(property) ? parsed : parsed.and(Sort.by(direction, ID));
+    }
+
+    /**
+     * Scroll position of a cursor, or the first page if there is none
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
+     */
+    public static ScrollPosition decode(String cursor, Sort sort, Map<String, Class<?>> sortKeys) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, String> encoded;
+        try {
+            encoded = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), KEYS_TYPE);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!sort.toString().equals(encoded.remove("$sort"))) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            String value = encoded.get(order.getProperty());
+            if (value == null) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            keys.put(order.getProperty(), parse(value, sortKeys.get(order.getProperty())));
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Cursor pointing after the given position
+     */
+    public static String encode(ScrollPosition position, Sort sort) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded");
+        }
+        Map<String, String> encoded = new LinkedHashMap<>();
+        encoded.put("$sort", sort.toString());
+        keyset.getKeys().forEach((key, value) -> encoded.put(key, String.valueOf(value)));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(encoded));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    private static Object parse(String value, Class<?> type) {
+        try {
+            if (type == Long.class) {
+                return Long.valueOf(value);
+            }
+            if (type == Integer.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == BigDecimal.class) {
+                return new BigDecimal(value);
+            }
+            if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            }
+            return value;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.usermanagement.api.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Utility class for opaque secrets such as refresh tokens and API keys.
+ *
+ * Secrets are generated with a {@link SecureRandom} and stored only as
+ * SHA-256 digests; their entropy makes a slow hash unnecessary.
+ */
+public final class TokenHashing {
+
+    private static final SecureRandom random = new SecureRandom();
+    private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private TokenHashing() {
+    }
+
+    /**
+     * Hex-encoded SHA-256 digest of a secret
+     */
+    public static String sha256Hex(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Random URL-safe secret with the given number of random bytes
+     */
+    public static String randomSecret(int bytes) {
+        byte[] value = new byte[bytes];
+        random.nextBytes(value);
+        return BASE64_URL_ENCODER.encodeToString(value);
+    }
+}
@@ -0,0 +1,7 @@
+-- Rastreamento de login: último acesso, tentativas falhas e bloqueio temporário
+-- Gravados em lote pela aplicação (write-behind), fora da transação de login
+
+ALTER TABLE auth_users
+    ADD COLUMN last_login_at TIMESTAMP NULL,
+    ADD COLUMN failed_attempts INT NOT NULL DEFAULT 0,
+    ADD COLUMN locked_until TIMESTAMP NULL;
@@ -0,0 +1,6 @@
+-- Índices para paginação por keyset: cada chave de ordenação seguida do ID
+-- (o email já possui índice único)
+
+CREATE INDEX idx_users_name_id ON users (name, users_id);
+CREATE INDEX idx_users_dt_subscription_id ON users (dt_subscription, users_id);
+CREATE INDEX idx_users_dt_expiration_id ON users (dt_expiration, users_id);
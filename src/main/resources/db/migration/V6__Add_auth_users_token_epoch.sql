@@ -0,0 +1,8 @@
+-- Época de tokens por usuário: incrementada na troca de senha, desativação ou bloqueio
+-- para revogar todos os tokens emitidos anteriormente
+
+ALTER TABLE auth_users
+    ADD COLUMN token_epoch INT NOT NULL DEFAULT 0;
+
+-- Sincronização periódica das épocas entre instâncias
+CREATE INDEX idx_auth_users_updated_at ON auth_users (updated_at);
@@ -0,0 +1,19 @@
+-- Armazenamento de refresh tokens para rotação de uso único e detecção de reutilização
+
+CREATE TABLE refresh_tokens (
+    refresh_token_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token_hash CHAR(64) NOT NULL,
+    family_id CHAR(36) NOT NULL,
+    auth_user_id BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    used_at TIMESTAMP NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_auth_user FOREIGN KEY (auth_user_id)
+        REFERENCES auth_users (auth_user_id) ON DELETE CASCADE,
+
+    INDEX idx_refresh_tokens_family_id (family_id),
+    INDEX idx_refresh_tokens_expires_at (expires_at)
+);
@@ -0,0 +1,19 @@
+-- Chaves de API para contas de serviço, armazenadas como digest SHA-256
+
+CREATE TABLE api_keys (
+    api_key_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    key_hash CHAR(64) NOT NULL,
+    key_prefix VARCHAR(16) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    auth_user_id BIGINT NOT NULL,
+    expires_at TIMESTAMP NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    revoked_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_api_keys_key_hash UNIQUE (key_hash),
+    CONSTRAINT fk_api_keys_auth_user FOREIGN KEY (auth_user_id)
+        REFERENCES auth_users (auth_user_id) ON DELETE CASCADE,
+
+    INDEX idx_api_keys_auth_user_id (auth_user_id)
+);
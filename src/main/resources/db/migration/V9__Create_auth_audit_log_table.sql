@@ -0,0 +1,14 @@
+-- Trilha de auditoria de autenticação (somente inserção, gravada em lotes)
+-- Sem chave estrangeira: os eventos permanecem após a exclusão do usuário
+
+CREATE TABLE auth_audit_log (
+    auth_audit_log_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(32) NOT NULL,
+    username VARCHAR(100) NULL,
+    auth_user_id BIGINT NULL,
+    client_ip VARCHAR(45) NULL,
+    occurred_at TIMESTAMP(3) NOT NULL,
+
+    INDEX idx_auth_audit_log_auth_user_id (auth_user_id, occurred_at),
+    INDEX idx_auth_audit_log_occurred_at (occurred_at)
+);
@@ -0,0 +1,67 @@
+package com.usermanagement.api.security;
+
+import com.usermanagement.api.model.AuthUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tokens carry the epoch of the user row they were issued from, even when
+ * this instance has not synced that epoch yet.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class JwtUtilTest {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenRevocationService revocationService;
+
+    @Test
+    void refreshIssuesEpochOfLoadedUser() {
+        AuthUser user = user(9001L, 3);
+        assertThat(revocationService.currentEpoch(user.getId())).isZero();
+
+        VerifiedToken token = jwtUtil.verifyToken(jwtUtil.generateToken(user)).orElseThrow();
+
+        assertThat(token.epoch()).isEqualTo(3);
+        assertThat(revocationService.isRevoked(token)).isFalse();
+    }
+
+    @Test
+    void loginIssuesEpochOfLoadedDetails() {
+        AuthUserDetails details = AuthUserDetails.from(user(9002L, 2));
+        assertThat(revocationService.currentEpoch(details.id())).isZero();
+
+        VerifiedToken access = jwtUtil.verifyToken(jwtUtil.generateToken(details)).orElseThrow();
+        VerifiedToken refresh = jwtUtil.verifyToken(jwtUtil.generateRefreshToken(details)).orElseThrow();
+
+        assertThat(access.epoch()).isEqualTo(2);
+        assertThat(refresh.epoch()).isEqualTo(2);
+    }
+
+    @Test
+    void tokenIssuedFromStaleUserUsesNewerSyncedEpoch() {
+        revocationService.updateEpoch(9003L, 5);
+
+        VerifiedToken token = jwtUtil.verifyToken(jwtUtil.generateToken(user(9003L, 4))).orElseThrow();
+
+        assertThat(token.epoch()).isEqualTo(5);
+        assertThat(revocationService.isRevoked(token)).isFalse();
+    }
+
+    private static AuthUser user(Long id, int tokenEpoch) {
+        AuthUser user = new AuthUser();
+        user.setId(id);
+        user.setUsername("epoch-user-" + id);
+        user.setEmail("epoch-user-" + id + "@example.com");
+        user.setPassword("unused");
+        user.setTokenEpoch(tokenEpoch);
+        return user;
+    }
+}
@@ -0,0 +1,93 @@
+package com.usermanagement.api.security;
+
+import com.usermanagement.api.model.AuthUser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the route table compiled from the real controllers and URL rules.
+ * Requests carry no servlet path, as with MockMvc, so routes must be matched
+ * on the path within the application.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RouteAuthorizationManagerTest {
+
+    @Autowired
+    private RouteAuthorizationManager routeAuthorizationManager;
+
+    @ParameterizedTest(name = "{0} {1} as {2}: {3}")
+    @CsvSource({
+            "GET,    /users/export,           ADMIN,     true",
+            "GET,    /users/export,           MODERATOR, false",
+            "GET,    /users/export,           USER,      false",
+            "POST,   /users/import,           ADMIN,     true",
+            "POST,   /users/import,           MODERATOR, false",
+            "POST,   /users/import,           USER,      false",
+            "POST,   /users/batch,            ADMIN,     true",
+            "POST,   /users/batch,            MODERATOR, false",
+            "POST,   /users/batch,            USER,      false",
+            "DELETE, /users/1,                ADMIN,     true",
+            "DELETE, /users/1,                MODERATOR, false",
+            "POST,   /users,                  MODERATOR, true",
+            "POST,   /users,                  USER,      false",
+            "GET,    /users,                  USER,      true",
+            "GET,    /users/1,                USER,      true",
+            "PUT,    /users/1,                USER,      true",
+            "GET,    /subscription-types/1,   USER,      true",
+            "POST,   /subscription-types,     MODERATOR, true",
+            "POST,   /subscription-types,     USER,      false",
+            "DELETE, /subscription-types/1,   MODERATOR, false",
+            "GET,    /api-keys,               ADMIN,     true",
+            "GET,    /api-keys,               MODERATOR, false",
+            "HEAD,   /users/export,           ADMIN,     true",
+            "HEAD,   /users/export,           USER,      false",
+            "HEAD,   /api-keys,               ADMIN,     true",
+            "HEAD,   /api-keys,               USER,      false",
+            "HEAD,   /users/1,                USER,      true",
+            "PATCH,  /users/1,                ADMIN,     false",
+            "POST,   /users/export,           ADMIN,     false",
+            "OPTIONS, /users/export,          ADMIN,     false",
+    })
+    void routeAllowsOnlyItsRoles(String method, String path, AuthUser.Role role, boolean granted) {
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "user", null, AuthorityUtils.createAuthorityList("ROLE_" + role.name()));
+
+        assertThat(isGranted(authentication, method, path)).isEqualTo(granted);
+    }
+
+    @Test
+    void anonymousRequestsAreDenied() {
+        Authentication anonymous = new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+        assertThat(isGranted(anonymous, "GET", "/users")).isFalse();
+    }
+
+    @Test
+    void unlistedRouteRequiresOnlyAuthentication() {
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "user", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+        assertThat(isGranted(authentication, "GET", "/unmapped")).isTrue();
+    }
+
+    private boolean isGranted(Authentication authentication, String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api" + path);
+        request.setContextPath("/api");
+        return routeAuthorizationManager.authorize(() -> authentication, new RequestAuthorizationContext(request))
+                .isGranted();
+    }
+}
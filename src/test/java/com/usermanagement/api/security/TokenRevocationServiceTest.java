@@ -0,0 +1,100 @@
+package com.usermanagement.api.security;
+
+import com.usermanagement.api.repository.AuthUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TokenRevocationServiceTest {
+
+    private static final long USER_ID = 42L;
+
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(false, 100, new SimpleMeterRegistry());
+        revocationService = new TokenRevocationService(mock(AuthUserRepository.class), cache);
+        ReflectionTestUtils.setField(revocationService, "expectedRevocations", 1000L);
+        ReflectionTestUtils.setField(revocationService, "syncInterval", 30000L);
+        ReflectionTestUtils.setField(revocationService, "accessTokenExpiration", 86400000L);
+        ReflectionTestUtils.setField(revocationService, "refreshTokenExpiration", 604800000L);
+    }
+
+    @Test
+    void epochBumpRejectsTokensIssuedBefore() {
+        VerifiedToken oldToken = token("jti-old", 0);
+        assertThat(revocationService.isRevoked(oldToken)).isFalse();
+
+        revocationService.updateEpoch(USER_ID, 1);
+
+        assertThat(revocationService.isRevoked(oldToken)).isTrue();
+        assertThat(revocationService.isRevoked(token("jti-new", 1))).isFalse();
+    }
+
+    @Test
+    void epochsNeverGoBackwards() {
+        revocationService.updateEpoch(USER_ID, 3);
+        revocationService.updateEpoch(USER_ID, 2);
+
+        assertThat(revocationService.currentEpoch(USER_ID)).isEqualTo(3);
+        assertThat(revocationService.isRevoked(token("jti", 2))).isTrue();
+    }
+
+    @Test
+    void revokedTokenIdIsRejected() {
+        VerifiedToken revoked = token("jti-revoked", 0);
+
+        assertThat(revocationService.revoke("token", revoked)).isTrue();
+
+        assertThat(revocationService.isRevoked(revoked)).isTrue();
+        assertThat(revocationService.isRevoked(token("jti-other", 0))).isFalse();
+    }
+
+    @Test
+    void tokenWithoutIdCannotBeRevokedIndividually() {
+        assertThat(revocationService.revoke("token", token(null, 0))).isFalse();
+    }
+
+    @Test
+    void denylistEntryIsPurgedOnceTheTokenExpired() {
+        VerifiedToken expired = token("jti-expired", 0, Instant.now().minusSeconds(1));
+        revocationService.revoke("token", expired);
+
+        revocationService.purgeExpired();
+
+        assertThat(revocationService.isRevoked(expired)).isFalse();
+    }
+
+    @Test
+    void deletedUserIsRejectedUntilItsTokensExpired() {
+        VerifiedToken token = token("jti", 5);
+
+        revocationService.revokeAllTokens(USER_ID);
+        revocationService.purgeExpired();
+        assertThat(revocationService.isRevoked(token)).isTrue();
+
+        ReflectionTestUtils.setField(revocationService, "accessTokenExpiration", 0L);
+        ReflectionTestUtils.setField(revocationService, "refreshTokenExpiration", 0L);
+        revocationService.revokeAllTokens(USER_ID);
+        revocationService.purgeExpired();
+
+        assertThat(revocationService.isRevoked(token)).isFalse();
+        assertThat(revocationService.currentEpoch(USER_ID)).isZero();
+    }
+
+    private static VerifiedToken token(String tokenId, int epoch) {
+        return token(tokenId, epoch, Instant.now().plus(1, ChronoUnit.HOURS));
+    }
+
+    private static VerifiedToken token(String tokenId, int epoch, Instant expiration) {
+        return new VerifiedToken("user", Instant.now(), expiration, null, USER_ID, "USER", 0, tokenId, epoch, null);
+    }
+}
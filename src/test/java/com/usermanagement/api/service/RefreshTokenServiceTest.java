@@ -0,0 +1,161 @@
+package com.usermanagement.api.service;
+
+import com.usermanagement.api.model.RefreshToken;
+import com.usermanagement.api.repository.RefreshTokenRepository;
+import com.usermanagement.api.util.TokenHashing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Rotation runs against the database without a surrounding test transaction,
+ * so each call commits like it does in production.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenServiceTest {
+
+    private static final long AUTH_USER_ID = 7L;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @AfterEach
+    void cleanUp() {
+        refreshTokenRepository.deleteAll();
+    }
+
+    @Test
+    void tokenCanBeRotatedOnce() {
+        String family = refreshTokenService.newFamily();
+        refreshTokenService.store("first", AUTH_USER_ID, family);
+
+        RefreshToken consumed = refreshTokenService.rotate("first");
+
+        assertThat(consumed.getFamilyId()).isEqualTo(family);
+        assertThat(consumed.getAuthUserId()).isEqualTo(AUTH_USER_ID);
+        assertThat(find("first").getUsedAt()).isNotNull();
+    }
+
+    @Test
+    void reusingRotatedTokenRevokesTheFamily() {
+        String family = refreshTokenService.newFamily();
+        refreshTokenService.store("first", AUTH_USER_ID, family);
+        refreshTokenService.rotate("first");
+        refreshTokenService.store("second", AUTH_USER_ID, family);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("first"))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("already been used");
+
+        assertThat(find("first").getRevoked()).isTrue();
+        assertThat(find("second").getRevoked()).isTrue();
+        assertThatThrownBy(() -> refreshTokenService.rotate("second"))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void reuseDoesNotRevokeOtherFamilies() {
+        refreshTokenService.store("stolen", AUTH_USER_ID, refreshTokenService.newFamily());
+        refreshTokenService.store("other-device", AUTH_USER_ID, refreshTokenService.newFamily());
+        refreshTokenService.rotate("stolen");
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("stolen"))
+                .isInstanceOf(BadCredentialsException.class);
+
+        assertThat(find("other-device").getRevoked()).isFalse();
+    }
+
+    @Test
+    void onlyOneOfConcurrentRefreshesSucceeds() throws Exception {
+        int attempts = 8;
+        refreshTokenService.store("contended", AUTH_USER_ID, refreshTokenService.newFamily());
+
+        CyclicBarrier start = new CyclicBarrier(attempts);
+        Callable<RefreshToken> refresh = () -> {
+            start.await();
+            return refreshTokenService.rotate("contended");
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        try {
+            List<Future<RefreshToken>> results = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                results.add(executor.submit(refresh));
+            }
+
+            int succeeded = 0;
+            for (Future<RefreshToken> result : results) {
+                try {
+                    result.get();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(BadCredentialsException.class);
+                }
+            }
+            assertThat(succeeded).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        RefreshToken expired = new RefreshToken();
+        expired.setTokenHash(TokenHashing.sha256Hex("expired"));
+        expired.setFamilyId(refreshTokenService.newFamily());
+        expired.setAuthUserId(AUTH_USER_ID);
+        expired.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        refreshTokenRepository.save(expired);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("expired"))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("expired");
+        assertThat(find("expired").getUsedAt()).isNull();
+    }
+
+    @Test
+    void markUsedSkipsExpiredAndRevokedTokens() {
+        String family = refreshTokenService.newFamily();
+        refreshTokenService.store("live", AUTH_USER_ID, family);
+        Long id = find("live").getId();
+
+        assertThat(refreshTokenRepository.markUsed(id, LocalDateTime.now().plusYears(1))).isZero();
+
+        refreshTokenRepository.revokeFamily(family);
+        assertThat(refreshTokenRepository.markUsed(id, LocalDateTime.now())).isZero();
+        assertThat(find("live").getUsedAt()).isNull();
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertThatThrownBy(() -> refreshTokenService.rotate("never-issued"))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    private RefreshToken find(String token) {
+        return refreshTokenRepository.findByTokenHash(TokenHashing.sha256Hex(token)).orElseThrow();
+    }
+}
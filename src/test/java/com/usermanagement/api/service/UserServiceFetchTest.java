@@ -0,0 +1,133 @@
+package com.usermanagement.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.usermanagement.api.dto.response.CursorPage;
+import com.usermanagement.api.model.SubscriptionType;
+import com.usermanagement.api.model.User;
+import com.usermanagement.api.model.UserType;
+import com.usermanagement.api.repository.SubscriptionTypeRepository;
+import com.usermanagement.api.repository.UserRepository;
+import com.usermanagement.api.repository.UserTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * User reads return their user and subscription types from a single
+ * statement, and the detached results serialize without touching the
+ * closed session.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceFetchTest {
+
+    private static final int USERS = 5;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserTypeRepository userTypeRepository;
+
+    @Autowired
+    private SubscriptionTypeRepository subscriptionTypeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<User> users = new ArrayList<>();
+    private UserType userType;
+    private SubscriptionType subscriptionType;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userType = userTypeRepository.save(new UserType(null, "Fetch test type", "User type of the fetch test"));
+        subscriptionType = subscriptionTypeRepository.save(
+                new SubscriptionType(null, "Fetch test plan", 12, new BigDecimal("99.90"), "fetch-test-plan"));
+
+        // Distinct types per user, so a lazy load per row would show up as extra statements
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Fetch " + i);
+            user.setEmail("fetch" + i + "@example.com");
+            user.setPhone("+551190000" + String.format("%04d", i));
+            user.setCpf(String.format("%011d", 90000000000L + i));
+            user.setDtSubscription(LocalDate.now());
+            user.setDtExpiration(LocalDate.now().plusYears(1));
+            user.setUserType(i == 0 ? userType
+                    : userTypeRepository.save(new UserType(null, "Fetch test type " + i, null)));
+            user.setSubscriptionType(subscriptionType);
+            users.add(userRepository.save(user));
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll(users);
+        userTypeRepository.deleteAll(users.stream().map(User::getUserType).distinct().toList());
+        subscriptionTypeRepository.delete(subscriptionType);
+    }
+
+    @Test
+    void findPageRunsOneStatement() throws Exception {
+        CursorPage<User> page = userService.findPage(null, USERS, null, false);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(page.getItems()).hasSize(USERS);
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(page));
+        for (JsonNode item : json.get("items")) {
+            assertThat(item.path("userType").path("name").asText()).startsWith("Fetch test type");
+            assertThat(item.path("subscriptionType").path("name").asText()).isEqualTo("Fetch test plan");
+        }
+    }
+
+    @Test
+    void findByIdRunsOneStatement() throws Exception {
+        User user = userService.findById(users.get(0).getId()).orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertTypesSerialized(user);
+    }
+
+    @Test
+    void findByEmailRunsOneStatement() throws Exception {
+        User user = userService.findByEmail("fetch0@example.com").orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertTypesSerialized(user);
+    }
+
+    private void assertTypesSerialized(User user) throws Exception {
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(user));
+
+        assertThat(json.path("userType").path("name").asText()).isEqualTo("Fetch test type");
+        assertThat(json.path("userType").path("description").asText()).isEqualTo("User type of the fetch test");
+        assertThat(json.path("subscriptionType").path("productKey").asText()).isEqualTo("fetch-test-plan");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}